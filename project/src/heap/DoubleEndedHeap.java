@@ -0,0 +1,6 @@
+package heap;
+
+public interface DoubleEndedHeap<T extends Comparable<T>> extends Heap<T> {
+    Element<T> findMax() throws EmptyHeapException;
+    T removeMax() throws EmptyHeapException;
+}
@@ -1,6 +1,17 @@
 package heap;
 
-public interface ExtendedHeap<T extends Comparable<T>> extends Heap<T>{
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface ExtendedHeap<T extends Comparable<T>> extends Heap<T>, Iterable<T> {
     default String getName(){
         return "Undefined";
     }
@@ -13,4 +24,61 @@ public interface ExtendedHeap<T extends Comparable<T>> extends Heap<T>{
     default int getSize(){
         return -1;
     }
+
+    /**
+     * Kengetallen over de vorm van de hoop, bv. het aantal wortels. Hopen die iets zinvols te melden hebben overschrijven dit.
+     * Dit wordt opgeroepen na een removeMin en moet dus goedkoop blijven.
+     * @return De kengetallen per naam, standaard geen.
+     */
+    default Map<String, Long> getShape(){
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Voeg meerdere waarden tegelijk toe. Standaard roepen we insert op voor elke waarde, hopen die sneller in bulk opbouwen overschrijven dit.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    default List<? extends Element<T>> insertAll(Collection<T> values){
+        List<Element<T>> elements = new ArrayList<>(values.size());
+        for (T value : values) {
+            elements.add(insert(value));
+        }
+        return elements;
+    }
+
+    /**
+     * Ongeordende, splitsbare Spliterator over de waarden, die de hoop niet aanpast.
+     * @return De Spliterator.
+     */
+    @Override
+    Spliterator<T> spliterator();
+
+    @Override
+    default Iterator<T> iterator(){
+        return Spliterators.iterator(spliterator());
+    }
+
+    default Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<T> parallelStream(){
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Geeft de waarden lui in stijgende volgorde, zonder de hoop aan te passen.
+     * Standaard sorteren we een kopie van alle waarden: dat kost O(n log n) bij het eerste element, ook als we er maar k opvragen.
+     * Hopen met een boomstructuur overschrijven dit met een hulphoop die enkel de k kleinste elementen en hun kinderen bekijkt, zie {@link heap.helpers.OrderedIterator}.
+     * De RadixHeap en de CalendarQueue gebruiken deze standaard.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    default Iterator<T> orderedIterator(){
+        return stream().sorted().iterator();
+    }
+
+    default Stream<T> orderedStream(){
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(orderedIterator(), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL), false);
+    }
 }
@@ -1,16 +1,41 @@
 package heap;
 
+import heap.bheap.BHeap;
 import heap.binary.BinaryHeap;
+import heap.binary.SegmentedBinaryHeap;
 import heap.binomial.BinomialHeap;
+import heap.bucket.BucketQueue;
+import heap.buffered.BufferedHeap;
+import heap.calendar.CalendarQueue;
+import heap.concurrent.SingleWriterHeap;
+import heap.lazy.LazyDeleteHeap;
 import heap.leftist.LeftistHeap;
+import heap.minmax.MinMaxHeap;
+import heap.radix.RadixHeap;
 import heap.skew.SkewHeap;
+import heap.pairing.ArenaPairingHeap;
 import heap.pairing.PairingHeap;
+import heap.weak.WeakHeap;
+
+import java.util.function.Supplier;
 
 public class Heaps {
     public static <T extends Comparable<T>> BinaryHeap<T> newBinaryHeap() {
 	    return new BinaryHeap<>();
     }
 
+    public static <T extends Comparable<T>> BinaryHeap<T> newBottomUpBinaryHeap() {
+	    return new BinaryHeap<>(true);
+    }
+
+    public static <T extends Comparable<T>> SegmentedBinaryHeap<T> newSegmentedBinaryHeap() {
+	    return new SegmentedBinaryHeap<>();
+    }
+
+    public static <T extends Number & Comparable<T>> BHeap<T> newBHeap() {
+	    return new BHeap<>();
+    }
+
     public static <T extends Comparable<T>> BinomialHeap<T> newBinomialHeap() {
 	    return new BinomialHeap<>();
     }
@@ -26,4 +51,44 @@ public class Heaps {
     public static <T extends Comparable<T>> PairingHeap<T> newPairingHeap() {
 	    return new PairingHeap<>();
     }
+
+    public static ArenaPairingHeap newArenaPairingHeap() {
+	    return new ArenaPairingHeap();
+    }
+
+    public static <T extends Number & Comparable<T>> RadixHeap<T> newRadixHeap() {
+	    return new RadixHeap<>();
+    }
+
+    public static <T extends Number & Comparable<T>> BucketQueue<T> newBucketQueue() {
+	    return new BucketQueue<>();
+    }
+
+    public static <T extends Number & Comparable<T>> BucketQueue<T> newBucketQueue(int range) {
+	    return new BucketQueue<>(range);
+    }
+
+    public static <T extends Number & Comparable<T>> CalendarQueue<T> newCalendarQueue() {
+	    return new CalendarQueue<>();
+    }
+
+    public static <T extends Comparable<T>> MinMaxHeap<T> newMinMaxHeap() {
+	    return new MinMaxHeap<>();
+    }
+
+    public static <T extends Comparable<T>> WeakHeap<T> newWeakHeap() {
+	    return new WeakHeap<>();
+    }
+
+    public static <T extends Comparable<T>> LazyDeleteHeap<T> newLazyHeap(Supplier<? extends ExtendedHeap<LazyDeleteHeap.Entry<T>>> factory) {
+	    return new LazyDeleteHeap<>(factory);
+    }
+
+    public static <T extends Comparable<T>> BufferedHeap<T> newBufferedHeap(Supplier<? extends ExtendedHeap<BufferedHeap.Entry<T>>> factory) {
+	    return new BufferedHeap<>(factory);
+    }
+
+    public static <T extends Comparable<T>> SingleWriterHeap<T> newSingleWriterHeap(Supplier<? extends ExtendedHeap<SingleWriterHeap.Entry<T>>> factory) {
+	    return new SingleWriterHeap<>(factory);
+    }
 }
@@ -1,6 +1,8 @@
 package heap;
 
+import heap.helpers.Benchmark;
 import heap.helpers.BenchmarkBuilder;
+import heap.helpers.ComparisonBenchmark;
 
 import java.io.IOException;
 
@@ -12,12 +14,20 @@ public class Main {
         int k200 = 200000;
         int k100 = 100000;
         int mil1 = 1000000;
-        Long result = new BenchmarkBuilder()
+        Benchmark benchmark = new BenchmarkBuilder()
                 .amount(k500)
                 .pairing()
                 .random()
                 .testUpdateRemove()
-                .build().run();
-        System.out.println(result);
+                .build();
+        benchmark.run();
+        System.out.println(benchmark.getResult());
+
+        BenchmarkBuilder comparisons = new BenchmarkBuilder()
+                .amount(k100)
+                .random();
+        long[] binary = comparisons.buildComparison(Heaps::newBinaryHeap).run();
+        long[] weak = comparisons.buildComparison(Heaps::newWeakHeap).run();
+        System.out.printf("Comparisons per removeMin: binary %.1f, weak %.1f%n", (double) binary[1] / k100, (double) weak[1] / k100);
     }
 }
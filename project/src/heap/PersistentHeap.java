@@ -0,0 +1,38 @@
+package heap;
+
+/**
+ * Een persistente hoop: elke versie is onveranderlijk, insert, removeMin en meld geven een nieuwe versie terug.
+ * @param <T> Het type van de waarden, dat Comparable moet zijn.
+ * @param <H> Het type van de hoop zelf, zodat de bewerkingen een versie van hetzelfde type teruggeven.
+ */
+public interface PersistentHeap<T extends Comparable<T>, H extends PersistentHeap<T, H>> extends Iterable<T> {
+    /**
+     * @param value De toe te voegen waarde.
+     * @return De nieuwe versie.
+     */
+    H insert(T value);
+
+    /**
+     * @return De kleinste waarde.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    T findMin() throws EmptyHeapException;
+
+    /**
+     * @return De nieuwe versie zonder de kleinste waarde.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    H removeMin() throws EmptyHeapException;
+
+    /**
+     * @param other De andere hoop, die ook ongemoeid blijft.
+     * @return De nieuwe versie met de waarden van beide hopen.
+     */
+    H meld(H other);
+
+    boolean isEmpty();
+
+    int getSize();
+
+    boolean isValid();
+}
@@ -0,0 +1,372 @@
+package heap.bheap;
+
+import heap.*;
+import heap.helpers.IndexSpliterator;
+import heap.helpers.OrderedIterator;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+/**
+ * Binaire hoop met een B-heap layout: de boom wordt opgedeeld in deelbomen van hoogte h die elk in één aaneengesloten pagina zitten.
+ * Een pad van de wortel naar een blad raakt zo maar log(n) / h pagina's in plaats van bijna één pagina per niveau, wat cache- en TLB-missers beperkt bij zeer grote hopen.
+ * Een top heeft een adres (pagina, lokale index). Binnen een pagina zijn de kinderen van l de toppen 2l en 2l + 1, zoals in de binaire hoop.
+ * De onderste rij van een pagina heeft als kinderen de wortels van 2^h kindpagina's, pagina p heeft de kindpagina's p * 2^h + 1 tot en met p * 2^h + 2^h.
+ * Daarnaast houden we de index in breedte-eerst volgorde bij (zoals in de binaire hoop) om te weten welke toppen bestaan en waar het laatste blad zit.
+ * Een pagina wordt pas aangemaakt wanneer zijn wortel gebruikt wordt en groeit per rij, zodat een half gevulde onderste laag geen geheugen verspilt.
+ * De sleutels staan als long in de pagina's zelf, zodat een vergelijking nooit een pointer buiten de pagina volgt.
+ * Een parallelle pagina met dezelfde adressen bevat de Elementen, die enkel aangeraakt worden als een top effectief verschuift.
+ * Gemeten met willekeurige Integers, eerst alle inserts en dan alle removeMins: bij 10M duurt removeMin 20-21 s tegenover 29-32 s voor {@link heap.binary.BinaryHeap},
+ * bij 40M 92 s tegenover 163 s. Vanaf 100M hebben de Elementen en hun waarden alleen al meer dan 5 GB nodig, daar hebben we niet gemeten.
+ * @param <T> Het type van de Heap, een geheel getal (Integer, Long, ...). We ordenen op longValue().
+ */
+public class BHeap<T extends Number & Comparable<T>> implements ExtendedHeap<T> {
+    /**
+     * 1023 toppen per pagina: een pagina sleutels is 8 KB.
+     */
+    public static final int DEFAULT_PAGE_HEIGHT = 10;
+
+    private final int height;
+    private final int half;
+    private final long mask;
+
+    private long[][] keys;
+    private Element[][] pages;
+    private int size;
+
+    public BHeap(){
+        this(DEFAULT_PAGE_HEIGHT);
+    }
+
+    /**
+     * @param pageHeight De hoogte h van de deelboom in één pagina, een pagina bevat 2^h - 1 toppen.
+     */
+    @SuppressWarnings("reflect")
+    public BHeap(int pageHeight){
+        if(pageHeight < 2 || pageHeight > 20){
+            throw new IllegalArgumentException("Page height " + pageHeight + " must be between 2 and 20.");
+        }
+        this.height = pageHeight;
+        this.half = 1 << (pageHeight - 1);
+        this.mask = (1L << pageHeight) - 1;
+        this.keys = new long[4][];
+        //noinspection unchecked
+        this.pages = (Element[][]) Array.newInstance(Element.class, 4, 0);
+        this.size = 0;
+    }
+
+    /**
+     * Zet een index in breedte-eerst volgorde om naar een adres.
+     * De bits onder de hoogste bit van de index vormen het pad vanaf de wortel, elke groep van h bits kiest een kindpagina.
+     * @param index De index (vanaf 1).
+     * @return Het adres: het paginanummer gevolgd door h bits lokale index.
+     */
+    private long address(int index){
+        int depth = 31 - Integer.numberOfLeadingZeros(index);
+        long page = 0;
+        while (depth >= height){
+            depth -= height;
+            page = (page << height) + 1 + ((index >>> depth) & mask);
+        }
+        long local = (1L << depth) | (index & ((1L << depth) - 1));
+        return page << height | local;
+    }
+
+    /**
+     * @param address Het adres van de ouder.
+     * @param right 0 voor het linkerkind, 1 voor het rechterkind.
+     * @return Het adres van het kind.
+     */
+    private long child(long address, int right){
+        long page = address >>> height;
+        long local = address & mask;
+        if(local < half){
+            return page << height | (2 * local + right);
+        }
+        long childPage = (page << height) + 1 + 2 * (local - half) + right;
+        return childPage << height | 1;
+    }
+
+    /**
+     * @param address Het adres van een top die niet de wortel is.
+     * @return Het adres van de ouder.
+     */
+    private long parent(long address){
+        long page = address >>> height;
+        long local = address & mask;
+        if(local > 1){
+            return page << height | (local / 2);
+        }
+        long j = (page - 1) & mask;
+        long parentPage = (page - 1) >>> height;
+        return parentPage << height | (half + j / 2);
+    }
+
+    private Element get(long address){
+        return pages[(int) (address >>> height)][(int) (address & mask)];
+    }
+
+    private long key(long address){
+        return keys[(int) (address >>> height)][(int) (address & mask)];
+    }
+
+    /**
+     * Schrijf een element en zijn sleutel weg op hun nieuwe plaats en fix de referenties naar het Element.
+     * Pagina's (en rijen binnen een pagina) worden aangemaakt wanneer ze voor het eerst nodig zijn.
+     * @param index De index in breedte-eerst volgorde.
+     * @param address Het adres dat bij de index hoort.
+     * @param key De sleutel van het element.
+     * @param e Het element.
+     */
+    private void place(int index, long address, long key, Element e){
+        int page = (int) (address >>> height);
+        int local = (int) (address & mask);
+        if(page >= pages.length){
+            int length = Math.max(pages.length * 2, page + 1);
+            pages = Arrays.copyOf(pages, length);
+            keys = Arrays.copyOf(keys, length);
+        }
+        Element[] p = pages[page];
+        long[] k = keys[page];
+        if(p == null || local >= p.length){
+            int length = Math.max(p == null ? 2 : p.length * 2, Integer.highestOneBit(local) * 2);
+            //noinspection unchecked
+            pages[page] = p = p == null ? (Element[]) Array.newInstance(Element.class, length) : Arrays.copyOf(p, length);
+            keys[page] = k = k == null ? new long[length] : Arrays.copyOf(k, length);
+        }
+        p[local] = e;
+        k[local] = key;
+        e.index = index;
+        e.address = address;
+    }
+
+    private void clear(long address){
+        pages[(int) (address >>> height)][(int) (address & mask)] = null;
+    }
+
+    /**
+     * We voegen een element toe als laatste blad en dragen het gat naar boven.
+     * O(log(n))
+     * @param value Het element dat we willen toevoegen.
+     * @return De referentie naar het element dat we toegevoegd hebben.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        Element newVal = new Element(value);
+        size++;
+        moveUp(size, address(size), value.longValue(), newVal);
+        return newVal;
+    }
+
+    /**
+     * Het kleinste element is altijd de wortel, op adres (0, 1).
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        return pages[0][1];
+    }
+
+    /**
+     * Het laatste blad komt in de wortel en beweegt naar beneden.
+     * O(log(n))
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        Element ret = (Element) findMin();
+        removeAt(ret);
+        return ret.value();
+    }
+
+    /**
+     * Verwijder een element: het laatste blad komt in het gat en beweegt naar boven of naar beneden.
+     * @param e Het te verwijderen element.
+     */
+    private void removeAt(Element e){
+        long lastAddress = address(size);
+        Element last = get(lastAddress);
+        long lastKey = key(lastAddress);
+        clear(lastAddress);
+        size--;
+        if(last == e){
+            return;
+        }
+        if(e.index > 1 && key(parent(e.address)) > lastKey){
+            moveUp(e.index, e.address, lastKey, last);
+        } else {
+            moveDown(e.index, e.address, lastKey, last);
+        }
+    }
+
+    /**
+     * Zolang de ouder groter is dan het element schuiven we de ouder naar beneden.
+     * @param i De vrije index.
+     * @param address Het adres van de vrije index.
+     * @param key De sleutel van het te plaatsen element.
+     * @param e Het te plaatsen element.
+     */
+    private void moveUp(int i, long address, long key, Element e){
+        while (i > 1){
+            long parent = parent(address);
+            long p = key(parent);
+            if(p <= key){
+                break;
+            }
+            place(i, address, p, get(parent));
+            i = i / 2;
+            address = parent;
+        }
+        place(i, address, key, e);
+    }
+
+    /**
+     * Zolang het kleinste kind kleiner is dan het element schuiven we dat kind naar boven.
+     * @param i De vrije index.
+     * @param address Het adres van de vrije index.
+     * @param key De sleutel van het te plaatsen element.
+     * @param e Het te plaatsen element.
+     */
+    private void moveDown(int i, long address, long key, Element e){
+        while (2L * i <= size){
+            int c = 2 * i;
+            long child = child(address, 0);
+            long min = key(child);
+            if(c < size){
+                long right = child(address, 1);
+                long r = key(right);
+                if(r < min){
+                    c++;
+                    child = right;
+                    min = r;
+                }
+            }
+            if(key <= min){
+                break;
+            }
+            place(i, address, min, get(child));
+            i = c;
+            address = child;
+        }
+        place(i, address, key, e);
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size < 1;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getName() {
+        return "B-Heap";
+    }
+
+    /**
+     * Print de heap in breedte-eerst volgorde.
+     */
+    @Override
+    public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * We overlopen de indices 1 tot en met size.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexSpliterator<>(1, size + 1, i -> get(address(i)).value());
+    }
+
+    /**
+     * De kinderen van een element zijn minstens gelijk aan dat element, we starten met de wortel in de grens.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<Element, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(pages[0][1]),
+                (a, b) -> Long.compare(key(a.address), key(b.address)),
+                (e, add) -> {
+                    if(2L * e.index <= size){
+                        add.accept(get(child(e.address, 0)));
+                    }
+                    if(2L * e.index + 1 <= size){
+                        add.accept(get(child(e.address, 1)));
+                    }
+                },
+                Element::value);
+    }
+
+    /**
+     * We controleren of elk element op het adres van zijn index staat, zijn sleutel bij zijn waarde hoort en minstens gelijk is aan die van zijn ouder.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        for (int i = 1; i <= size; i++) {
+            long address = address(i);
+            Element e = get(address);
+            if(e == null || e.index != i || e.address != address || key(address) != e.value().longValue() || (i > 1 && key(address(i / 2)) > key(address))){
+                return false;
+            }
+            if(i > 1 && parent(address) != address(i / 2)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement.
+     * We houden zijn index en zijn adres bij zodat we aanpassingen eenvoudig kunnen doorvoeren.
+     */
+    private class Element extends ComparableElement<T> {
+        private int index;
+        private long address;
+
+        private Element(T value) {
+            super(value);
+        }
+
+        /**
+         * We zetten het laatste blad op de plaats van dit element en bewegen het naar boven of naar beneden.
+         */
+        @Override
+        public void remove() {
+            removeAt(this);
+        }
+
+        /**
+         * Een grotere waarde beweegt naar beneden, een kleinere naar boven.
+         * @param value De nieuwe waarde voor het element.
+         */
+        @Override
+        public void update(T value) {
+            long key = value.longValue();
+            boolean down = key(address) < key;
+            this.value = value;
+            if(down){
+                moveDown(index, address, key, this);
+            } else {
+                moveUp(index, address, key, this);
+            }
+        }
+    }
+}
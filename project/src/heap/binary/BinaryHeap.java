@@ -1,10 +1,22 @@
 package heap.binary;
 
 import heap.*;
+import heap.helpers.IndexSpliterator;
+import heap.helpers.OrderedIterator;
+import heap.helpers.ParallelBuild;
+import heap.jfr.HeapOperationEvent;
 
 import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -18,6 +30,11 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     private int size;
     private Element[] heap;
 
+    /**
+     * Gebruik bottom-up removeMin (zie {@link #removeMin()}).
+     */
+    private final boolean bottomUp;
+
     /**
      * We negeren hier de compilerwaarschuwing die gegenereerd wordt omdat door type Erasure het type van de elementen binnen het array niet vastgesteld kan worden.
      * Aangezien we dit array enkel intern gebruiken weten we dat we nooit het foute type gebruiken.
@@ -25,36 +42,110 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
      */
     @SuppressWarnings("reflect")
     public BinaryHeap(){
+        this(false);
+    }
+
+    /**
+     * @param bottomUp Laat removeMin eerst naar een blad afdalen en het laatste element nadien naar boven bewegen.
+     *                 Dit kost ongeveer log(n) + O(1) vergelijkingen in plaats van 2 log(n), wat loont als vergelijkingen duur zijn.
+     */
+    @SuppressWarnings("reflect")
+    public BinaryHeap(boolean bottomUp){
         //noinspection unchecked
         this.heap = (Element[]) Array.newInstance(Element.class, 5);
         this.size = 0;
+        this.bottomUp = bottomUp;
     }
 
     /**
      * We voegen een element toe onderaan de boom.
-     * Zolang deze het element kleiner is dan zijn ouder wisselen we het nieuwe element met zijn ouder.
+     * Zolang het element kleiner is dan zijn ouder schuiven we de ouder naar beneden, het element wordt pas op het einde weggeschreven.
      * @param value Het element dat we willen toevoegen.
      * @return De referentie naar het element dat we toegevoegd hebben.
      */
     @Override
     public ComparableElement<T> insert(T value) {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
         Element newVal = new Element(value, ++size);
         if(size>=heap.length-1){
             heap = Arrays.copyOf(heap, heap.length * 2);
         }
-        heap[size] = newVal;
-        moveUp(size, false);
+        moveUp(size, newVal);
+        if(event.shouldCommit()){
+            event.emit("insert", this, depth(size) - depth(newVal.index));
+        }
 
         return newVal;
     }
 
+    /**
+     * Voeg alle waarden in één keer toe achteraan het array.
+     * Als er minstens evenveel nieuwe als bestaande waarden zijn herstellen we de hoop van onder naar boven (Floyd), in O(n + m).
+     * Anders bewegen we de nieuwe waarden één voor één naar boven, wat bij willekeurige waarden gemiddeld O(1) per waarde kost.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    @Override
+    public List<ComparableElement<T>> insertAll(Collection<T> values) {
+        return insertAll(values, null);
+    }
+
+    /**
+     * Zoals {@link #insertAll(Collection)}, maar Floyd herstelt de deelbomen parallel in de gegeven pool (zie {@link ParallelBuild#heapify}).
+     * @param values De toe te voegen waarden.
+     * @param pool De pool voor Floyd, of null om sequentieel te werken.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    public List<ComparableElement<T>> insertAll(Collection<T> values, ForkJoinPool pool) {
+        List<ComparableElement<T>> elements = new ArrayList<>(values.size());
+        if(size + values.size() >= heap.length-1){
+            heap = Arrays.copyOf(heap, Math.max(heap.length * 2, size + values.size() + 2));
+        }
+        boolean floyd = values.size() >= size;
+        for (T value : values) {
+            Element newVal = new Element(value, ++size);
+            if(floyd){
+                heap[size] = newVal;
+            } else {
+                moveUp(size, newVal);
+            }
+            elements.add(newVal);
+        }
+
+        if(floyd && pool != null){
+            ParallelBuild.heapify(size, this::fixHeap, pool);
+        } else if(floyd){
+            for (int i = parent(size); i > 0; i--) {
+                fixHeap(i);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Voeg alle elementen van de andere hoop toe aan deze hoop, de andere hoop is nadien leeg.
+     * De referenties naar de elementen van de andere hoop zijn nadien niet meer geldig.
+     * O(n + m)
+     * @param other De hoop die we bij deze hoop voegen.
+     */
+    public void meld(BinaryHeap<T> other) {
+        List<T> values = new ArrayList<>(other.size);
+        for (int i = 1; i <= other.size; i++) {
+            values.add(other.heap[i].value());
+            other.heap[i] = null;
+        }
+        other.size = 0;
+        insertAll(values);
+    }
+
     /**
      * We zoeken het kleinste element, gezien de heap eigenschap is dit altijd de wortel van de boom, die zich op index 1 bevindt.
      * @return Het kleinste element van de hoop.
      * @throws EmptyHeapException De hoop is leeg.
      */
     @Override
-    public Element findMin() throws EmptyHeapException {
+    public ComparableElement<T> findMin() throws EmptyHeapException {
         if(isEmpty()){
             throw new EmptyHeapException();
         }
@@ -107,6 +198,14 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         return index * 2 + 1;
     }
 
+    /**
+     * @param index Een index in het array.
+     * @return Het niveau van de index, de wortel zit op niveau 0.
+     */
+    private static int depth(int index){
+        return 31 - Integer.numberOfLeadingZeros(index);
+    }
+
     /**
      * Indien de index van het rechterkind buiten het array ligt heeft deze ouder geen rechterkind.
      * @param index De index van de ouder.
@@ -117,41 +216,72 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     }
 
     /**
-     * We herstellen de hoop door de ouder met het kind om te wisselen tot er terug aan de heapvoorwaarde voldaan wordt.
+     * We herstellen de hoop door het element naar beneden te bewegen tot er terug aan de heapvoorwaarde voldaan wordt.
      * In het slechtste geval wordt de wortel naar een blad verplaatst, dus dit heeft complexiteit O(log(n)).
      * @param i Index van het te verplaatsen element.
      */
     private void fixHeap(int i){
+        moveDown(i, heap[i]);
+    }
+
+    /**
+     * We dragen een gat naar beneden: zolang het kleinste kind kleiner is dan het element schuiven we dat kind één niveau omhoog.
+     * Elk verplaatst element wordt zo maar één keer weggeschreven, het element zelf pas op zijn uiteindelijke plaats.
+     * @param i De vrije positie waar we beginnen.
+     * @param e Het te plaatsen element.
+     */
+    private void moveDown(int i, Element e){
         while (hasLeft(i)){ //the element can only have a right child if it has a left child
             int min = left(i);
             if(hasRight(i)&&heap[left(i)].compareTo(heap[right(i)]) > 0){
                 min = right(i);
             }
-            if(heap[i].compareTo(heap[min])>0){
-                swap(i, min);
-            } else {
+            if(e.compareTo(heap[min])<=0){
                 break;
             }
+            place(i, heap[min]);
             i = min;
         }
+        place(i, e);
     }
 
     /**
-     * We bewegen het element naar boven tot er aan de heapvoorwaarde voldaan wordt.
+     * We dragen een gat naar boven: zolang de ouder groter is dan het element schuiven we de ouder één niveau omlaag.
      * In het slechtste geval wordt een blad naar de wortel verplaatst, dus dit heeft complexiteit O(log(n)).
-     * @param i Index van het te verplaatsen element.
-     * @param delete We hebben de bedoeling om het element te verwijderen, we bewegen het element naar de wortel ongeacht de heapvoorwaarde.
+     * @param i De vrije positie waar we beginnen.
+     * @param e Het te plaatsen element.
      */
-    private void moveUp(int i, boolean delete){
-        while (hasParent(i)&& (heap[parent(i)].compareTo(heap[i])>0||delete)){
-            swap(i, parent(i));
+    private void moveUp(int i, Element e){
+        while (hasParent(i) && heap[parent(i)].compareTo(e) > 0){
+            place(i, heap[parent(i)]);
             i = parent(i);
         }
+        place(i, e);
+    }
+
+    /**
+     * Verwijder het element op positie i: het laatste blad komt in het gat en beweegt naar boven of naar beneden.
+     * O(log(n))
+     * @param i De index van het te verwijderen element.
+     */
+    private void removeAt(int i){
+        Element last = heap[size];
+        heap[size--] = null;
+        if(i > size){
+            return;
+        }
+        if(hasParent(i) && heap[parent(i)].compareTo(last) > 0){
+            moveUp(i, last);
+        } else {
+            moveDown(i, last);
+        }
     }
 
     /**
      * We verwijderen het kleinste element van de heap en verplaatsen het laatste blad van de complete boom naar de wortel.
      * Nadien herstellen we de heapvoorwaarde.
+     * In bottom-up modus dalen we eerst met het gat van de wortel naar een blad, telkens via het kleinste kind (één vergelijking per niveau).
+     * Het laatste blad belandt meestal dicht bij de bladeren, dus het van daar naar boven bewegen kost gemiddeld maar enkele vergelijkingen.
      * @return De waarde van het verwijderde element.
      * @throws EmptyHeapException De heap is leeg.
      */
@@ -161,30 +291,68 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             throw new EmptyHeapException();
         }
 
-        Element ret = findMin();
-
-        heap[1] = heap[size];
-        heap[1].setIndex(1);
-        heap[size--] = null;
-        fixHeap(1);
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element ret = (Element) findMin();
+        Element last = heap[size];
+        int leaf = 1;
+
+        if(!bottomUp){
+            removeAt(1);
+        } else {
+            heap[size--] = null;
+            if(size > 0){
+                int i = 1;
+                while (hasLeft(i)){
+                    int min = left(i);
+                    if(hasRight(i)&&heap[left(i)].compareTo(heap[right(i)]) > 0){
+                        min = right(i);
+                    }
+                    place(i, heap[min]);
+                    i = min;
+                }
+                leaf = i;
+                moveUp(i, last);
+            }
+        }
+        if(event.shouldCommit()){
+            //Top-down is het laatste blad in de wortel begonnen, zijn diepte is het aantal niveaus dat het gezakt is.
+            //Bottom-up is het gat tot in een blad gezakt, en het laatste blad van daar weer naar boven bewogen.
+            int levels = last == ret ? 0 : bottomUp ? 2 * depth(leaf) - depth(last.index) : depth(last.index);
+            event.emit("removeMin", this, levels);
+        }
 
         return ret.value();
     }
 
     /**
-     * Hulpmethode voor het omwisselen van 2 elementen en het fixen van de referenties naar het Element.
-     * O(1)
-     * @param pos1 De index van het eerste te wisselen element.
-     * @param pos2 De index van het tweede te wisselen element.
+     * Vervang de waarde van het kleinste element door een nieuwe waarde. Dit kost één keer fixHeap in plaats van removeMin gevolgd door insert.
+     * Er wordt geen nieuw element aangemaakt: de referentie naar het kleinste element verwijst nadien naar de nieuwe waarde.
+     * Dit werkt ook als de nieuwe waarde hetzelfde object is als de oude waarde, waarvan de orde intussen veranderd is.
+     * O(log(n))
+     * @param value De nieuwe waarde.
+     * @return De oude waarde van het kleinste element.
+     * @throws EmptyHeapException De heap is leeg.
      */
-    private void swap(int pos1, int pos2){
-        Element tmp = heap[pos1];
+    public T replaceMin(T value) throws EmptyHeapException {
+        Element root = (Element) findMin();
+        T ret = root.value();
 
-        heap[pos1] = heap[pos2];
-        heap[pos1].setIndex(pos1);
+        root.setValue(value);
+        fixHeap(1);
+
+        return ret;
+    }
 
-        heap[pos2] = tmp;
-        tmp.setIndex(pos2);
+    /**
+     * Hulpmethode voor het wegschrijven van een element en het fixen van de referentie naar het Element.
+     * O(1)
+     * @param i De index waar het element komt.
+     * @param e Het element.
+     */
+    private void place(int i, Element e){
+        heap[i] = e;
+        e.setIndex(i);
     }
 
     /**
@@ -196,12 +364,56 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         System.out.println(out);
     }
 
+    /**
+     * We overlopen de posities 1 tot en met size van het array.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexSpliterator<>(1, size + 1, i -> heap[i].value());
+    }
+
+    /**
+     * De kinderen van een element zijn minstens gelijk aan dat element, we starten met de wortel in de grens.
+     * De k kleinste elementen kosten O(k log k).
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<Integer, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(1),
+                (a, b) -> heap[a].compareTo(heap[b]),
+                (i, add) -> {
+                    if(hasLeft(i)){
+                        add.accept(left(i));
+                    }
+                    if(hasRight(i)){
+                        add.accept(right(i));
+                    }
+                },
+                i -> heap[i].value());
+    }
+
+    /**
+     * O(1)
+     * @return De capaciteit van het array, te vergelijken met de grootte.
+     */
+    @Override
+    public Map<String, Long> getShape() {
+        return Collections.singletonMap("capacity", (long) heap.length - 1);
+    }
+
     /**
      * @return Een human readable naam van de hoop.
      */
     @Override
     public String getName() {
-        return "Binary Heap";
+        return bottomUp ? "Bottom-up Binary Heap" : "Binary Heap";
+    }
+
+    @Override
+    public int getSize() {
+        return size;
     }
 
     /**
@@ -251,19 +463,11 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         }
 
         /**
-         * We bewegen het element naar de wortel van de boom (ongeacht de heapeigenschap).
-         * Nadien verwijderen we het "kleinste" element, wat in dit geval dit element is aangezien het zich in de wortel bevindt.
-         * @param delete Geeft het element tijdelijk prioriteit -Infinity.
+         * We zetten het laatste blad op de plaats van dit element en bewegen het naar boven of naar beneden.
          */
         @Override
         public void remove() {
-            moveUp(index, true);
-            try {
-                removeMin();
-            } catch (EmptyHeapException e) {
-                //Er is minstens 1 element in de heap (nl. dit element)
-                e.printStackTrace();
-            }
+            removeAt(index);
         }
 
         /**
@@ -273,15 +477,25 @@ public class BinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
          */
         @Override
         public void update(T value) {
+            HeapOperationEvent event = new HeapOperationEvent();
+            event.begin();
+            int from = index;
             if(this.value.compareTo(value)<0){
                 this.value = value;
                 fixHeap(index);
             } else {
                 this.value = value;
-                moveUp(index, false);
+                moveUp(index, this);
+            }
+            if(event.shouldCommit()){
+                event.emit("update", BinaryHeap.this, Math.abs(depth(from) - depth(index)));
             }
         }
 
+        private void setValue(T value) {
+            this.value = value;
+        }
+
         public int getIndex() {
             return index;
         }
@@ -0,0 +1,108 @@
+package heap.binary;
+
+import java.util.Arrays;
+
+/**
+ * Binaire hoop van long sleutels met een vaste capaciteit, net zoals de binaire hoop beginnen we vanaf 1 te tellen.
+ * Er zijn geen referenties naar de sleutels: dit is de array-hoop van {@link BinaryHeap} zonder Elementen, als bouwsteen voor primitieve hopen.
+ * Zoals in BinaryHeap beweegt het gat en wordt de sleutel pas op het einde weggeschreven.
+ */
+public final class LongBinaryHeap {
+    private final long[] heap;
+    private int size;
+
+    /**
+     * @param capacity Het maximale aantal sleutels.
+     */
+    public LongBinaryHeap(int capacity){
+        if(capacity < 1){
+            throw new IllegalArgumentException("Capacity " + capacity + " must be positive.");
+        }
+        this.heap = new long[capacity + 1];
+        this.size = 0;
+    }
+
+    /**
+     * Zolang de ouder groter is dan de sleutel schuiven we de ouder naar beneden.
+     * O(log(n))
+     * @param key De toe te voegen sleutel, de hoop mag niet vol zijn.
+     */
+    public void add(long key){
+        if(isFull()){
+            throw new IllegalStateException("Heap is full at " + size + " keys.");
+        }
+        int i = ++size;
+        while (i > 1 && heap[i / 2] > key){
+            heap[i] = heap[i / 2];
+            i = i / 2;
+        }
+        heap[i] = key;
+    }
+
+    /**
+     * @return De kleinste sleutel, de hoop mag niet leeg zijn.
+     */
+    public long peek(){
+        return heap[1];
+    }
+
+    /**
+     * Het laatste blad komt in de wortel, zolang het kleinste kind kleiner is schuiven we dat kind naar boven.
+     * O(log(n))
+     * @return De kleinste sleutel, de hoop mag niet leeg zijn.
+     */
+    public long poll(){
+        long min = heap[1];
+        long last = heap[size--];
+        int i = 1;
+        while (2 * i <= size){
+            int child = 2 * i;
+            if(child < size && heap[child + 1] < heap[child]){
+                child++;
+            }
+            if(heap[child] >= last){
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return min;
+    }
+
+    /**
+     * Maak de hoop leeg.
+     * O(n log(n))
+     * @return Alle sleutels, gesorteerd.
+     */
+    public long[] drainSorted(){
+        long[] keys = Arrays.copyOfRange(heap, 1, size + 1);
+        Arrays.sort(keys);
+        size = 0;
+        return keys;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size < 1;
+    }
+
+    public boolean isFull(){
+        return size == heap.length - 1;
+    }
+
+    /**
+     * @return Of elke sleutel minstens gelijk is aan zijn ouder.
+     */
+    public boolean isValid(){
+        for (int i = 2; i <= size; i++) {
+            if(heap[i / 2] > heap[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+}
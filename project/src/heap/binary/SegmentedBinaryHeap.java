@@ -0,0 +1,348 @@
+package heap.binary;
+
+import heap.*;
+import heap.helpers.OrderedIterator;
+import heap.jfr.HeapOperationEvent;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Binaire hoop met long indices waarvan het array uit blokken van vaste grootte bestaat, we tellen opnieuw vanaf 1.
+ * Groeien voegt één blok toe zonder iets te kopiëren, en lege blokken achteraan worden vrijgegeven wanneer de hoop krimpt.
+ * Zo is de grootte niet beperkt tot de lengte van één array en zijn er geen pauzes waarin het hele array gekopieerd wordt.
+ * Enkel de (kleine) lijst van blokken wordt nog verdubbeld.
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public class SegmentedBinaryHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
+    /**
+     * 2^16 referenties per blok.
+     */
+    public static final int DEFAULT_CHUNK_BITS = 16;
+
+    private final int chunkBits;
+    private final long chunkMask;
+
+    private Element[][] chunks;
+    /**
+     * Het aantal blokken dat effectief aangemaakt is.
+     */
+    private int allocated;
+    private long size;
+
+    public SegmentedBinaryHeap(){
+        this(DEFAULT_CHUNK_BITS);
+    }
+
+    /**
+     * @param chunkBits Een blok bevat 2^chunkBits elementen.
+     */
+    @SuppressWarnings("reflect")
+    public SegmentedBinaryHeap(int chunkBits){
+        if(chunkBits < 1 || chunkBits > 30){
+            throw new IllegalArgumentException("Chunk bits " + chunkBits + " must be between 1 and 30.");
+        }
+        this.chunkBits = chunkBits;
+        this.chunkMask = (1L << chunkBits) - 1;
+        //noinspection unchecked
+        this.chunks = (Element[][]) Array.newInstance(Element.class, 4, 0);
+        this.allocated = 0;
+        this.size = 0;
+    }
+
+    private Element get(long index){
+        return chunks[(int) (index >>> chunkBits)][(int) (index & chunkMask)];
+    }
+
+    /**
+     * Hulpmethode voor het wegschrijven van een element en het fixen van de referentie naar het Element.
+     * @param index De index waar het element komt.
+     * @param e Het element.
+     */
+    private void place(long index, Element e){
+        chunks[(int) (index >>> chunkBits)][(int) (index & chunkMask)] = e;
+        e.index = index;
+    }
+
+    /**
+     * Zorg dat er een blok is voor de gegeven index. Er wordt hoogstens één nieuw blok aangemaakt.
+     * @param index De index (hoogstens één voorbij het laatste blok).
+     */
+    @SuppressWarnings("reflect")
+    private void ensure(long index){
+        int chunk = (int) (index >>> chunkBits);
+        if(chunk < allocated){
+            return;
+        }
+        if(chunk >= chunks.length){
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        //noinspection unchecked
+        chunks[chunk] = (Element[]) Array.newInstance(Element.class, 1 << chunkBits);
+        allocated = chunk + 1;
+    }
+
+    /**
+     * Geef lege blokken achteraan vrij. We houden één leeg blok over zodat afwisselend toevoegen en verwijderen rond een grens niet telkens een blok aanmaakt.
+     */
+    private void shrink(){
+        int needed = (int) (size >>> chunkBits) + 1;
+        while (allocated > needed + 1){
+            chunks[--allocated] = null;
+        }
+    }
+
+    /**
+     * We voegen een element toe als laatste blad en dragen het gat naar boven.
+     * O(log(n))
+     * @param value Het element dat we willen toevoegen.
+     * @return De referentie naar het element dat we toegevoegd hebben.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element newVal = new Element(value);
+        ensure(++size);
+        moveUp(size, newVal);
+        if(event.shouldCommit()){
+            event.emit("insert", this, depth(size) - depth(newVal.index));
+        }
+        return newVal;
+    }
+
+    /**
+     * Het kleinste element is altijd de wortel, op index 1.
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        return get(1);
+    }
+
+    /**
+     * Het laatste blad komt in de wortel en beweegt naar beneden.
+     * O(log(n))
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element ret = (Element) findMin();
+        Element last = get(size);
+        removeAt(1);
+        if(event.shouldCommit()){
+            //Het laatste blad is in de wortel begonnen, zijn diepte is het aantal niveaus dat het gezakt is
+            event.emit("removeMin", this, last == ret ? 0 : depth(last.index));
+        }
+        return ret.value();
+    }
+
+    /**
+     * Verwijder het element op positie i: het laatste blad komt in het gat en beweegt naar boven of naar beneden.
+     * Het verwijderde element krijgt index 0, zodat zijn referentie niet meer gebruikt kan worden.
+     * @param i De index van het te verwijderen element.
+     */
+    private void removeAt(long i){
+        Element removed = get(i);
+        Element last = get(size);
+        chunks[(int) (size >>> chunkBits)][(int) (size & chunkMask)] = null;
+        size--;
+        if(i <= size){
+            if(i > 1 && get(i / 2).compareTo(last) > 0){
+                moveUp(i, last);
+            } else {
+                moveDown(i, last);
+            }
+        }
+        removed.index = 0;
+        shrink();
+    }
+
+    /**
+     * @param index Een index in de blokken.
+     * @return Het niveau van de index, de wortel zit op niveau 0.
+     */
+    private static int depth(long index){
+        return 63 - Long.numberOfLeadingZeros(index);
+    }
+
+    /**
+     * Zolang de ouder groter is dan het element schuiven we de ouder naar beneden.
+     * @param i De vrije positie.
+     * @param e Het te plaatsen element.
+     */
+    private void moveUp(long i, Element e){
+        while (i > 1 && get(i / 2).compareTo(e) > 0){
+            place(i, get(i / 2));
+            i = i / 2;
+        }
+        place(i, e);
+    }
+
+    /**
+     * Zolang het kleinste kind kleiner is dan het element schuiven we dat kind naar boven.
+     * @param i De vrije positie.
+     * @param e Het te plaatsen element.
+     */
+    private void moveDown(long i, Element e){
+        while (2 * i <= size){
+            long min = 2 * i;
+            if(min < size && get(min).compareTo(get(min + 1)) > 0){
+                min++;
+            }
+            if(e.compareTo(get(min)) <= 0){
+                break;
+            }
+            place(i, get(min));
+            i = min;
+        }
+        place(i, e);
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size < 1;
+    }
+
+    /**
+     * @return Het aantal elementen, of Integer.MAX_VALUE als dat niet in een int past (zie {@link #longSize()}).
+     */
+    @Override
+    public int getSize() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return Het aantal elementen.
+     */
+    public long longSize() {
+        return size;
+    }
+
+    /**
+     * @return Het aantal blokken dat momenteel aangemaakt is.
+     */
+    public int getChunks() {
+        return allocated;
+    }
+
+    @Override
+    public String getName() {
+        return "Segmented Binary Heap";
+    }
+
+    /**
+     * Print de heap in een human readable vorm.
+     */
+    @Override
+    public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * We overlopen de posities 1 tot en met size.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return LongStream.rangeClosed(1, size).mapToObj(i -> get(i).value()).spliterator();
+    }
+
+    /**
+     * De kinderen van een element zijn minstens gelijk aan dat element, we starten met de wortel in de grens.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<Long, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(1L),
+                (a, b) -> get(a).compareTo(get(b)),
+                (i, add) -> {
+                    if(2 * i <= size){
+                        add.accept(2 * i);
+                    }
+                    if(2 * i + 1 <= size){
+                        add.accept(2 * i + 1);
+                    }
+                },
+                i -> get(i).value());
+    }
+
+    /**
+     * We controleren of elk kind minstens gelijk aan zijn ouder is, of de indices kloppen en of er geen overbodige blokken zijn.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        for (long i = 1; i <= size; i++) {
+            Element e = get(i);
+            if(e.index != i || (i > 1 && get(i / 2).compareTo(e) > 0)){
+                return false;
+            }
+        }
+        return allocated <= (size >>> chunkBits) + 2;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement.
+     * We houden telkens zijn locatie binnen de blokken bij zodat we aanpassingen eenvoudig kunnen doorvoeren.
+     */
+    private class Element extends ComparableElement<T> {
+        private long index;
+
+        private Element(T value) {
+            super(value);
+        }
+
+        private void check(){
+            if(index == 0){
+                throw new IllegalStateException("Element " + value + " was removed.");
+            }
+        }
+
+        /**
+         * We zetten het laatste blad op de plaats van dit element en bewegen het naar boven of naar beneden.
+         */
+        @Override
+        public void remove() {
+            check();
+            removeAt(index);
+        }
+
+        /**
+         * Een grotere waarde beweegt naar beneden, een kleinere naar boven.
+         * @param value De nieuwe waarde voor het element.
+         */
+        @Override
+        public void update(T value) {
+            check();
+            HeapOperationEvent event = new HeapOperationEvent();
+            event.begin();
+            long from = index;
+            if(this.value.compareTo(value) < 0){
+                this.value = value;
+                moveDown(index, this);
+            } else {
+                this.value = value;
+                moveUp(index, this);
+            }
+            if(event.shouldCommit()){
+                event.emit("update", SegmentedBinaryHeap.this, Math.abs(depth(from) - depth(index)));
+            }
+        }
+    }
+}
@@ -3,9 +3,19 @@ package heap.binomial;
 import heap.ComparableElement;
 import heap.EmptyHeapException;
 import heap.ExtendedHeap;
+import heap.helpers.OrderedIterator;
+import heap.helpers.TreeSpliterator;
+import heap.jfr.HeapOperationEvent;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
 
 import static heap.Debug.DASHES;
 
@@ -37,25 +47,117 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
      */
     @Override
     public ComparableElement<T> insert(T value) {
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] links = event.isEnabled() ? new int[1] : null;
+        event.begin();
         Element e = new Element(value);
-        insert(e);
+        insert(e, links);
+        if(event.shouldCommit()){
+            event.emit("insert", this, links[0]);
+        }
 
         return e;
     }
 
-    private void insert(Element t){
+    /**
+     * @param t Het toe te voegen element.
+     * @param links Krijgt het aantal gelinkte bomen in links[0] voor {@link HeapOperationEvent}, of null om niet te tellen.
+     */
+    private void insert(Element t, int[] links){
         BinomialTreeNode node = new BinomialTreeNode(t);
         stub.put(node.element, node);
 
-        merge(node);
+        merge(node, links);
         size++;
     }
 
+    /**
+     * Bouw eerst een aparte wachtlijn van de nieuwe waarden op, zoals een binaire teller: trees.get(k) is de boom van hoogte k die nog geen partner heeft.
+     * Elke nieuwe top wordt gelinkt met de bomen van hoogte 0, 1, ... tot er een plaats vrij is.
+     * Nadien mergen we de hoogstens log(n) + 1 nieuwe bomen met de wachtlijn.
+     * O(n) voor de opbouw en O(log^2 n) voor de merges.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    @Override
+    public List<ComparableElement<T>> insertAll(Collection<T> values) {
+        List<ComparableElement<T>> elements = new ArrayList<>(values.size());
+        List<BinomialTreeNode> trees = new ArrayList<>();
+        for (T value : values) {
+            Element e = new Element(value);
+            BinomialTreeNode node = new BinomialTreeNode(e);
+            stub.put(e, node);
+            elements.add(e);
+
+            int depth = 0;
+            while (depth < trees.size() && trees.get(depth) != null){
+                node = link(trees.get(depth), node);
+                trees.set(depth, null);
+                depth++;
+            }
+            if(depth == trees.size()){
+                trees.add(node);
+            } else {
+                trees.set(depth, node);
+            }
+        }
+        for (BinomialTreeNode tree : trees) {
+            if(tree != null){
+                merge(tree);
+            }
+        }
+        size += values.size();
+        return elements;
+    }
+
+    /**
+     * Link twee bomen van dezelfde hoogte: de grootste wortel wordt het laatste kind van de kleinste.
+     * @param a De eerste boom, die niet in de wachtlijn zit.
+     * @param b De tweede boom, die niet in de wachtlijn zit.
+     * @return De gelinkte boom, één hoger.
+     */
+    private BinomialTreeNode link(BinomialTreeNode a, BinomialTreeNode b){
+        //Bepaal de kleinste en de grootste van de twee (in de zin van de wortel)
+        BinomialTreeNode min, max;
+        if(a.compareTo(b) <= 0){
+            min = a;
+            max = b;
+        } else {
+            min = b;
+            max = a;
+        }
+
+        //Maak de grootste het laatste kind van de kleinste
+        if(min.getChild()!=null){
+            BinomialTreeNode currentChild = min.getChild();
+            while (currentChild.getNeighbor()!=null){
+                currentChild = currentChild.getNeighbor();
+            }
+            currentChild.setNeighbor(max);
+        } else {
+            min.setChild(max);
+        }
+
+        //Pas de referenties aan
+        min.increaseDepth();
+        max.setParent(min);
+        return min;
+    }
+
     /**
      * Voer de merge operatie uit van een nieuwe boom met de reeds bestaande wachtlijn.
      * @param newElements De te mergen boom.
      */
     private void merge(BinomialTreeNode newElements){
+        merge(newElements, null);
+    }
+
+    /**
+     * Zoals {@link #merge(BinomialTreeNode)}, maar we tellen de links.
+     * @param newElements De te mergen boom.
+     * @param links Krijgt het aantal gelinkte bomen bij in links[0], of null om niet te tellen.
+     */
+    private void merge(BinomialTreeNode newElements, int[] links){
         //Wachtlijn is leeg
         if(queue==null){
             queue = newElements;
@@ -90,16 +192,6 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
 
             //De huidige en de toe te voegen boom hebben dezelfde hoogte. Ze moeten gemerged worden om aan de voorwaarden te voldoen.
             if(current.getDepth() == newElements.getDepth()){
-                //Bepaal de kleinste en de grootste van de twee (in de zin van de wortel)
-                BinomialTreeNode min, max;
-                if(current.compareTo(newElements) <= 0){
-                    min = current;
-                    max = newElements;
-                } else {
-                    min = newElements;
-                    max = current;
-                }
-
                 //Verwijder de huidige boom tijdelijk uit de wachtlijn
                 if(previous!=null) {
                     previous.setNeighbor(current.getNeighbor());
@@ -108,23 +200,11 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
                 }
                 current.setNeighbor(null);
 
-                //Maak de grootste het laatste kind van de kleinste
-                if(min.getChild()!=null){
-                    BinomialTreeNode currentChild = min.getChild();
-                    while (currentChild.getNeighbor()!=null){
-                        currentChild = currentChild.getNeighbor();
-                    }
-                    currentChild.setNeighbor(max);
-                } else {
-                    min.setChild(max);
+                //Link beide bomen en merge deze nieuwe boom met de wachtlijn
+                if(links != null){
+                    links[0]++;
                 }
-
-                //Pas de referenties aan
-                min.increaseDepth();
-                max.setParent(min);
-
-                //Merge deze nieuwe boom met de wachtlijn
-                merge(min);
+                merge(link(current, newElements), links);
                 return;
             }
 
@@ -140,6 +220,17 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
      * @throws EmptyHeapException De wachtlijn is leeg.
      */
     private BinomialTreeNode _findMin(boolean remove) throws EmptyHeapException {
+        return _findMin(remove, null);
+    }
+
+    /**
+     * Zoals {@link #_findMin(boolean)}, maar we tellen de bekeken wortels.
+     * @param remove Verwijder de boom van dat Element ook uit de wachtlijn.
+     * @param work Krijgt het aantal bekeken wortels bij in work[0], of null om niet te tellen.
+     * @return De locatie van het gevonden element.
+     * @throws EmptyHeapException De wachtlijn is leeg.
+     */
+    private BinomialTreeNode _findMin(boolean remove, int[] work) throws EmptyHeapException {
         //Wachtlijn is leeg
         if(queue==null){
             throw new EmptyHeapException();
@@ -158,6 +249,11 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
                 min = current;
             }
         }
+        if(work != null){
+            for (BinomialTreeNode root = queue; root != null; root = root.getNeighbor()) {
+                work[0]++;
+            }
+        }
 
         //Verwijder de boom met het kleinste element en pas de referenties aan.
         if(remove){
@@ -184,22 +280,29 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
 
     /**
      * Verwijder het kleinste element uit de wachtlijn.
+     * Het werk voor {@link HeapOperationEvent} is het aantal bekeken wortels plus het aantal links bij het mergen van de kinderen.
      * @return De waarde van het kleinste element.
      * @throws EmptyHeapException De wachtlijn is leeg.
      */
     @Override
     public T removeMin() throws EmptyHeapException {
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] work = event.isEnabled() ? new int[1] : null;
+        event.begin();
         //Zoek het kleinste element en verwijder zijn boom uit de wachtlijn
-        BinomialTreeNode min = _findMin(true);
+        BinomialTreeNode min = _findMin(true, work);
 
         //Merge alle kinderen van deze boom met de wachtlijn
         BinomialTreeNode current = min.getChild();
         while (current!=null){
             BinomialTreeNode tmp = current.getNeighbor();
             current.setNeighbor(null);
-            merge(current);
+            merge(current, work);
             current = tmp;
         }
+        if(event.shouldCommit()){
+            event.emit("removeMin", this, work[0]);
+        }
 
         return min.element.value();
     }
@@ -221,20 +324,13 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
         }
     }
 
-    /**
-     * Beweeg het element naar boven om de heap eigenschap te herstellen.
-     * @param node Het te bewegen element.
-     */
-    private void moveUp(Element node){
-        moveUp(node, false);
-    }
-
     /**
      * Beweeg het element naar boven.
      * @param node Het te bewegen element.
      * @param boostUp Of dit element de nieuwe wortel moet worden.
+     * @param work Krijgt het aantal wissels met een ouder bij in work[0], of null om niet te tellen.
      */
-    private void moveUp(Element node, boolean boostUp){
+    private void moveUp(Element node, boolean boostUp, int[] work){
         //Zoek de locatie van het element
         BinomialTreeNode toMove = stub.get(node);
 
@@ -245,7 +341,10 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
 
         //Wissel het element met zijn ouder en herhaal
         swap(toMove, toMove.getParent());
-        moveUp(node, boostUp);
+        if(work != null){
+            work[0]++;
+        }
+        moveUp(node, boostUp, work);
     }
 
     /**
@@ -284,10 +383,11 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
     /**
      * Verwijder het gegeven element.
      * @param node Het te verwijderen element.
+     * @param work Krijgt het aantal wissels, bekeken wortels en links bij in work[0], of null om niet te tellen.
      */
-    private void _remove(Element node){
+    private void _remove(Element node, int[] work){
         //Verplaats het element naar de wortel
-        moveUp(node, true);
+        moveUp(node, true, work);
 
         //Zoek de locatie
         BinomialTreeNode toMove = stub.get(node);
@@ -300,6 +400,9 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
         while (current.getNeighbor()!=null){
             BinomialTreeNode prev = current;
             current = current.getNeighbor();
+            if(work != null){
+                work[0]++;
+            }
             if(current == toMove){
                 minNeighbour = prev;
                 min = current;
@@ -323,7 +426,7 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
             BinomialTreeNode tmp = current.getNeighbor();
             current.setNeighbor(null);
             current.setParent(null);
-            merge(current);
+            merge(current, work);
             current = tmp;
         }
     }
@@ -359,6 +462,37 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
         System.out.println(DASHES);
     }
 
+    /**
+     * We overlopen de wachtlijn via het eerste kind en de volgende buur van elke top, de wortels van de bomen zijn elkaars buren.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSpliterator<BinomialTreeNode, T>(queue, size, BinomialTreeNode::getChild, BinomialTreeNode::getNeighbor, n -> n.element.value());
+    }
+
+    /**
+     * De wortels van alle bomen vormen de eerste groep in de grens, na een top komen al zijn kinderen als één groep in de grens.
+     * Elke top heeft O(log n) kinderen, de k kleinste elementen kosten dus O(k log(k log n) + k log n).
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        List<BinomialTreeNode> roots = new ArrayList<>();
+        for (BinomialTreeNode current = queue; current != null; current = current.getNeighbor()) {
+            roots.add(current);
+        }
+        return new OrderedIterator<BinomialTreeNode, T>(
+                roots,
+                BinomialTreeNode::compareTo,
+                (n, add) -> {
+                    for (BinomialTreeNode child = n.getChild(); child != null; child = child.getNeighbor()) {
+                        add.accept(child);
+                    }
+                },
+                n -> n.element.value());
+    }
+
     private boolean checkChildren(BinomialTreeNode root){
         if(root.getChild()==null){
             return true;
@@ -391,6 +525,19 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
         return true;
     }
 
+    /**
+     * O(log n)
+     * @return Het aantal bomen in de wachtlijn.
+     */
+    @Override
+    public Map<String, Long> getShape() {
+        long roots = 0;
+        for (BinomialTreeNode tree = queue; tree != null; tree = tree.getNeighbor()) {
+            roots++;
+        }
+        return Collections.singletonMap("roots", roots);
+    }
+
     /**
      * @return Human readable naam van de boom.
      */
@@ -415,7 +562,13 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
          */
         @Override
         public void remove() {
-            _remove(this);
+            HeapOperationEvent event = new HeapOperationEvent();
+            int[] work = event.isEnabled() ? new int[1] : null;
+            event.begin();
+            _remove(this, work);
+            if(event.shouldCommit()){
+                event.emit("remove", BinomialHeap.this, work[0]);
+            }
         }
 
         /**
@@ -424,15 +577,21 @@ public class BinomialHeap<T extends Comparable<T>> implements ExtendedHeap<T>{
          */
         @Override
         public void update(T value) {
+            HeapOperationEvent event = new HeapOperationEvent();
+            int[] work = event.isEnabled() ? new int[1] : null;
+            event.begin();
             if(this.value.compareTo(value)>0){
                 this.value = value;
-                moveUp(this);
+                moveUp(this, false, work);
             } else if(this.value.compareTo(value)<0){
                 this.value = value;
-                _remove(this);
-                insert(this);
+                _remove(this, work);
+                insert(this, work);
 //                moveDown(this);
             }
+            if(event.shouldCommit()){
+                event.emit("update", BinomialHeap.this, work[0]);
+            }
         }
     }
 
@@ -0,0 +1,306 @@
+package heap.bucket;
+
+import heap.*;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+
+/**
+ * Bucket queue voor gehele prioriteiten binnen een klein, gekend bereik [0, range).
+ * Elke prioriteit heeft een eigen emmer (een dubbel gelinkte lijst), een bitmap houdt bij welke emmers niet leeg zijn.
+ * Toevoegen, aanpassen en verwijderen via een referentie gebeurt in O(1), het minimum zoeken kost O(range / 64) in het slechtste geval.
+ * @param <T> Het type van de Heap, een geheel getal (Integer, Long, ...).
+ */
+public class BucketQueue<T extends Number & Comparable<T>> implements ExtendedHeap<T> {
+    public static final int DEFAULT_RANGE = 4096;
+
+    private Element[] buckets;
+
+    /**
+     * Bit i staat aan als emmer i niet leeg is.
+     */
+    private long[] occupied;
+
+    /**
+     * Index van het eerste woord in de bitmap dat mogelijk niet leeg is.
+     */
+    private int low;
+    private int size;
+
+    public BucketQueue(){
+        this(DEFAULT_RANGE);
+    }
+
+    /**
+     * We negeren hier de compilerwaarschuwing die gegenereerd wordt omdat door type Erasure het type van de elementen binnen het array niet vastgesteld kan worden.
+     * @param range Het aantal mogelijke prioriteiten, de toegelaten waarden zijn 0 tot en met range - 1.
+     */
+    @SuppressWarnings("reflect")
+    public BucketQueue(int range){
+        if(range < 1){
+            throw new IllegalArgumentException("Range must be positive.");
+        }
+        //noinspection unchecked
+        this.buckets = (Element[]) Array.newInstance(Element.class, range);
+        this.occupied = new long[(range + Long.SIZE - 1) / Long.SIZE];
+        this.low = occupied.length;
+        this.size = 0;
+    }
+
+    /**
+     * Zoek de emmer van een waarde en weiger waarden buiten het bereik.
+     * @param value De waarde.
+     * @return De index van de emmer.
+     */
+    private int bucket(T value){
+        long key = value.longValue();
+        if(key < 0 || key >= buckets.length){
+            throw new IllegalArgumentException("Value " + value + " is outside of the range [0, " + buckets.length + ").");
+        }
+        return (int) key;
+    }
+
+    /**
+     * Voeg het element vooraan toe in de emmer van zijn waarde.
+     * O(1)
+     * @param value De waarde van het toe te voegen element.
+     * @return De referentie naar het toegevoegde element.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        Element e = new Element(value, bucket(value));
+        link(e);
+        size++;
+        return e;
+    }
+
+    /**
+     * Zoek het eerste woord van de bitmap dat niet leeg is, de laagste bit daarin is de emmer van het minimum.
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        while (occupied[low]==0){
+            low++;
+        }
+        return buckets[low * Long.SIZE + Long.numberOfTrailingZeros(occupied[low])];
+    }
+
+    /**
+     * Haal het kleinste element uit zijn emmer.
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        Element min = (Element) findMin();
+        unlink(min);
+        size--;
+        return min.value();
+    }
+
+    /**
+     * Voeg het element vooraan in zijn emmer toe en markeer de emmer als niet leeg.
+     * @param e Het toe te voegen element.
+     */
+    private void link(Element e){
+        Element head = buckets[e.bucket];
+        e.previous = null;
+        e.next = head;
+        if(head!=null){
+            head.previous = e;
+        }
+        buckets[e.bucket] = e;
+
+        int word = e.bucket / Long.SIZE;
+        occupied[word] |= 1L << e.bucket;
+        low = Math.min(low, word);
+    }
+
+    /**
+     * Haal het element uit zijn emmer, als de emmer leeg wordt zetten we zijn bit in de bitmap af.
+     * @param e Het te verwijderen element.
+     */
+    private void unlink(Element e){
+        if(e.previous!=null){
+            e.previous.next = e.next;
+        } else {
+            buckets[e.bucket] = e.next;
+        }
+        if(e.next!=null){
+            e.next.previous = e.previous;
+        }
+        e.previous = null;
+        e.next = null;
+
+        if(buckets[e.bucket]==null){
+            occupied[e.bucket / Long.SIZE] &= ~(1L << e.bucket);
+        }
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size<1;
+    }
+
+    /**
+     * Print de heap in een human readable vorm, emmer per emmer.
+     */
+    @Override
+    public void printHeap(){
+        for (int i = 0; i < buckets.length; i++) {
+            List<String> values = new ArrayList<>();
+            for (Element e = buckets[i]; e != null; e = e.next) {
+                values.add(e.toString());
+            }
+            if(!values.isEmpty()){
+                System.out.println(i + ": " + values.stream().collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    /**
+     * We overlopen de emmers na elkaar, en binnen een emmer de gelinkte lijst.
+     * @return Een ongeordende Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(new BucketIterator(), size, Spliterator.NONNULL);
+    }
+
+    /**
+     * De emmers zijn gesorteerd, dus de elementen komen bij het overlopen van de emmers al in stijgende volgorde.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new BucketIterator();
+    }
+
+    /**
+     * Overloopt de emmers na elkaar, en binnen een emmer de gelinkte lijst.
+     */
+    private class BucketIterator implements Iterator<T> {
+        private int bucket = -1;
+        private Element next = null;
+
+        private BucketIterator(){
+            advance();
+        }
+
+        private void advance(){
+            if(next!=null){
+                next = next.next;
+            }
+            while (next==null && ++bucket < buckets.length){
+                next = buckets[bucket];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next!=null;
+        }
+
+        @Override
+        public T next() {
+            if(next==null){
+                throw new NoSuchElementException();
+            }
+            T value = next.value();
+            advance();
+            return value;
+        }
+    }
+
+    /**
+     * We controleren of elk element in de emmer van zijn waarde staat en of de bitmap overeenkomt met de emmers.
+     * We overlopen enkel de emmers waarvan de bit aan staat, een niet-lege emmer zonder bit zorgt ervoor dat het aantal elementen niet klopt.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        int count = 0;
+        for (int word = 0; word < occupied.length; word++) {
+            long bits = occupied[word];
+            if(bits!=0 && word < low){
+                return false;
+            }
+            while (bits!=0){
+                int i = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if(buckets[i]==null){
+                    return false;
+                }
+                for (Element e = buckets[i]; e != null; e = e.next) {
+                    if(e.bucket!=i || e.value().longValue()!=i || (e.next!=null && e.next.previous!=e)){
+                        return false;
+                    }
+                    count++;
+                }
+            }
+        }
+        return count==size;
+    }
+
+    /**
+     * @return Een human readable naam van de hoop.
+     */
+    @Override
+    public String getName() {
+        return "Bucket Queue";
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement, tegelijk een top in de gelinkte lijst van zijn emmer.
+     */
+    private class Element extends ComparableElement<T> {
+        private int bucket;
+        private Element previous;
+        private Element next;
+
+        private Element(T value, int bucket){
+            super(value);
+            this.bucket = bucket;
+        }
+
+        /**
+         * Haal het element uit zijn emmer.
+         */
+        @Override
+        public void remove() {
+            unlink(this);
+            size--;
+        }
+
+        /**
+         * Verplaats het element naar de emmer van de nieuwe waarde.
+         * @param value De nieuwe waarde.
+         */
+        @Override
+        public void update(T value) {
+            int bucket = bucket(value);
+            unlink(this);
+            this.value = value;
+            this.bucket = bucket;
+            link(this);
+        }
+    }
+}
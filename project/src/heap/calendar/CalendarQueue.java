@@ -0,0 +1,393 @@
+package heap.calendar;
+
+import heap.*;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+
+/**
+ * Calendar queue (Brown) voor gehele tijdstippen.
+ * De tijdsas wordt verdeeld in dagen van een vaste breedte, dag d komt terecht in emmer d modulo het aantal emmers (een "jaar").
+ * Elke emmer is een gesorteerde, dubbel gelinkte lijst. Het aantal emmers verdubbelt of halveert met de grootte van de wachtlijn,
+ * en bij elke aanpassing wordt de breedte van een dag opnieuw geschat uit de eerstvolgende tijdstippen.
+ * Bij een goed gekozen breedte zijn toevoegen, removeMin, aanpassen en verwijderen O(1) gearmortiseerd.
+ * @param <T> Het type van de Heap, een geheel getal (Integer, Long, ...).
+ */
+public class CalendarQueue<T extends Number & Comparable<T>> implements ExtendedHeap<T> {
+    private static final int MIN_BUCKETS = 16;
+
+    /**
+     * Het aantal tijdstippen waaruit de nieuwe breedte van een dag geschat wordt.
+     */
+    private static final int SAMPLE = 25;
+
+    private Element[] buckets;
+    private long width;
+    private int size;
+
+    /**
+     * De emmer waar het zoeken naar het minimum begint, en het einde van de dag die deze emmer op dit moment voorstelt.
+     * Geen enkel element heeft een tijdstip voor het begin van die dag (bucketTop - width).
+     */
+    private int current;
+    private long bucketTop;
+
+    public CalendarQueue(){
+        this.width = 1;
+        this.size = 0;
+        this.buckets = newBuckets(MIN_BUCKETS);
+        setCurrent(0);
+    }
+
+    /**
+     * We negeren hier de compilerwaarschuwing die gegenereerd wordt omdat door type Erasure het type van de elementen binnen het array niet vastgesteld kan worden.
+     * @param amount Het aantal emmers.
+     * @return Een array van lege emmers.
+     */
+    @SuppressWarnings("reflect")
+    private Element[] newBuckets(int amount){
+        //noinspection unchecked
+        return (Element[]) Array.newInstance(Element.class, amount);
+    }
+
+    /**
+     * @param key Een tijdstip.
+     * @return De emmer van de dag waarin het tijdstip valt.
+     */
+    private int bucket(long key){
+        return (int) (Math.floorDiv(key, width) & (buckets.length - 1));
+    }
+
+    /**
+     * Laat het zoeken naar het minimum beginnen bij de dag van het gegeven tijdstip.
+     * @param key Een tijdstip.
+     */
+    private void setCurrent(long key){
+        current = bucket(key);
+        bucketTop = (Math.floorDiv(key, width) + 1) * width;
+    }
+
+    /**
+     * Voeg het element gesorteerd toe in de emmer van zijn dag.
+     * O(1) gearmortiseerd als de breedte van een dag goed gekozen is.
+     * @param value De waarde van het toe te voegen element.
+     * @return De referentie naar het toegevoegde element.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        Element e = new Element(value);
+        link(e);
+        size++;
+
+        if(size > 2 * buckets.length){
+            resize(2 * buckets.length);
+        }
+        return e;
+    }
+
+    /**
+     * We overlopen de emmers vanaf de huidige dag, het eerste element dat in de dag van zijn emmer valt is het minimum.
+     * Als we een volledig jaar niets vinden zoeken we rechtstreeks het kleinste element van alle emmers.
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+
+        int i = current;
+        long top = bucketTop;
+        for (int n = 0; n < buckets.length; n++) {
+            Element head = buckets[i];
+            if(head!=null && head.key < top){
+                current = i;
+                bucketTop = top;
+                return head;
+            }
+            i = (i + 1) & (buckets.length - 1);
+            top += width;
+        }
+
+        //Directe zoektocht over alle emmers
+        Element min = null;
+        for (Element head : buckets) {
+            if(head!=null && (min==null || head.key < min.key)){
+                min = head;
+            }
+        }
+        setCurrent(min.key);
+        return min;
+    }
+
+    /**
+     * Zoek het kleinste element en haal het uit zijn emmer.
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        Element min = (Element) findMin();
+        remove(min);
+        return min.value();
+    }
+
+    /**
+     * Verwijder een element en halveer het aantal emmers als de wachtlijn sterk gekrompen is.
+     * @param e Het te verwijderen element.
+     */
+    private void remove(Element e){
+        unlink(e);
+        size--;
+
+        if(size < buckets.length / 2 && buckets.length > MIN_BUCKETS){
+            resize(buckets.length / 2);
+        }
+    }
+
+    /**
+     * Voeg het element toe op zijn plaats in de gesorteerde lijst van zijn emmer.
+     * Een tijdstip voor de huidige dag, of het eerste tijdstip in een lege wachtlijn, verplaatst het begin van de zoektocht naar het minimum.
+     * @param e Het toe te voegen element.
+     */
+    private void link(Element e){
+        if(size==0 || e.key < bucketTop - width){
+            setCurrent(e.key);
+        }
+
+        int bucket = bucket(e.key);
+        Element previous = null;
+        Element next = buckets[bucket];
+        while (next!=null && next.key < e.key){
+            previous = next;
+            next = next.next;
+        }
+
+        e.previous = previous;
+        e.next = next;
+        if(previous==null){
+            buckets[bucket] = e;
+        } else {
+            previous.next = e;
+        }
+        if(next!=null){
+            next.previous = e;
+        }
+    }
+
+    /**
+     * Haal het element uit de lijst van zijn emmer.
+     * O(1)
+     * @param e Het te verwijderen element.
+     */
+    private void unlink(Element e){
+        if(e.previous!=null){
+            e.previous.next = e.next;
+        } else {
+            buckets[bucket(e.key)] = e.next;
+        }
+        if(e.next!=null){
+            e.next.previous = e.previous;
+        }
+        e.previous = null;
+        e.next = null;
+    }
+
+    /**
+     * Schat de breedte van een dag uit de eerstvolgende tijdstippen.
+     * We halen die tijdelijk uit de wachtlijn, negeren afstanden die meer dan dubbel zo groot zijn als het gemiddelde
+     * en nemen drie keer het gemiddelde van de overige afstanden.
+     * @param sample Lijst waarin de tijdelijk verwijderde elementen terechtkomen.
+     * @return De nieuwe breedte van een dag.
+     */
+    private long newWidth(List<Element> sample){
+        int amount = Math.min(size, SAMPLE);
+        for (int i = 0; i < amount; i++) {
+            try {
+                Element min = (Element) findMin();
+                unlink(min);
+                sample.add(min);
+            } catch (EmptyHeapException e) {
+                //Er zijn minstens amount elementen in de heap
+            }
+        }
+        if(amount < 2){
+            return width;
+        }
+
+        double average = (double) (sample.get(amount - 1).key - sample.get(0).key) / (amount - 1);
+        long total = 0;
+        int count = 0;
+        for (int i = 1; i < amount; i++) {
+            long separation = sample.get(i).key - sample.get(i - 1).key;
+            if(separation <= 2 * average){
+                total += separation;
+                count++;
+            }
+        }
+        return count == 0 ? width : Math.max(1, 3 * total / count);
+    }
+
+    /**
+     * Verdeel alle elementen over een nieuw aantal emmers met een nieuwe breedte. De referenties blijven geldig.
+     * O(n), maar dit gebeurt pas nadat de grootte verdubbeld of gehalveerd is, dus O(1) gearmortiseerd.
+     * @param amount Het nieuwe aantal emmers.
+     */
+    private void resize(int amount){
+        List<Element> elements = new ArrayList<>(size);
+        long newWidth = newWidth(elements);
+        for (Element head : buckets) {
+            for (Element e = head; e != null; e = e.next) {
+                elements.add(e);
+            }
+        }
+
+        buckets = newBuckets(amount);
+        width = newWidth;
+        setCurrent(elements.isEmpty() ? 0 : elements.get(0).key);
+        for (Element e : elements) {
+            link(e);
+        }
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size<1;
+    }
+
+    /**
+     * Print de heap in een human readable vorm, emmer per emmer.
+     */
+    @Override
+    public void printHeap(){
+        for (int i = 0; i < buckets.length; i++) {
+            List<String> values = new ArrayList<>();
+            for (Element e = buckets[i]; e != null; e = e.next) {
+                values.add(e.toString());
+            }
+            if(!values.isEmpty()){
+                System.out.println(i + ": " + values.stream().collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    /**
+     * We overlopen de emmers na elkaar, en binnen een emmer de gelinkte lijst.
+     * @return Een ongeordende Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(new BucketIterator(), size, Spliterator.NONNULL);
+    }
+
+    /**
+     * Overloopt de emmers na elkaar, en binnen een emmer de gelinkte lijst.
+     */
+    private class BucketIterator implements Iterator<T> {
+        private int bucket = -1;
+        private Element next = null;
+
+        private BucketIterator(){
+            advance();
+        }
+
+        private void advance(){
+            if(next!=null){
+                next = next.next;
+            }
+            while (next==null && ++bucket < buckets.length){
+                next = buckets[bucket];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next!=null;
+        }
+
+        @Override
+        public T next() {
+            if(next==null){
+                throw new NoSuchElementException();
+            }
+            T value = next.value();
+            advance();
+            return value;
+        }
+    }
+
+    /**
+     * We controleren of elke emmer gesorteerd is, of elk element in de emmer van zijn dag staat
+     * en of er geen element voor de huidige dag ligt.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        int count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            for (Element e = buckets[i]; e != null; e = e.next) {
+                if(bucket(e.key)!=i || e.key < bucketTop - width || (e.next!=null && (e.next.previous!=e || e.next.key < e.key))){
+                    return false;
+                }
+                count++;
+            }
+        }
+        return count==size;
+    }
+
+    /**
+     * @return Een human readable naam van de hoop.
+     */
+    @Override
+    public String getName() {
+        return "Calendar Queue";
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement, tegelijk een top in de gelinkte lijst van zijn emmer.
+     */
+    private class Element extends ComparableElement<T> {
+        private long key;
+        private Element previous;
+        private Element next;
+
+        private Element(T value){
+            super(value);
+            this.key = value.longValue();
+        }
+
+        /**
+         * Haal het element uit zijn emmer.
+         */
+        @Override
+        public void remove() {
+            CalendarQueue.this.remove(this);
+        }
+
+        /**
+         * Haal het element uit zijn emmer en voeg het opnieuw toe met de nieuwe waarde.
+         * @param value De nieuwe waarde.
+         */
+        @Override
+        public void update(T value) {
+            unlink(this);
+            this.value = value;
+            this.key = value.longValue();
+            link(this);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package heap.concurrent;
+
+import heap.*;
+import heap.leftist.PersistentLeftistHeap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Hoop voor één schrijvende thread en willekeurig veel lezende threads, rond een andere hoop.
+ * Enkel de schrijver mag insert, removeMin, findMin en de referenties gebruiken, en de iterators van de hoop zelf.
+ * Na elke aanpassing publiceert de schrijver het minimum, de grootte en een epoch in één onveranderlijk {@link State} object via een volatile veld.
+ * Lezers gebruiken {@link #peekMin()}, {@link #getSize()}, {@link #getEpoch()} en {@link #getState()}: dat is één volatile leesbewerking, zonder locks en zonder te wachten op de schrijver.
+ * Omdat minimum, grootte en epoch in hetzelfde object zitten zijn ze altijd onderling consistent.
+ * Lezers kunnen ook een {@link Snapshot} opvragen van alle waarden op de laatst gepubliceerde epoch.
+ * Daarvoor houdt de schrijver naast de onderliggende hoop twee {@link PersistentLeftistHeap}s bij: de ingevoegde waarden en de verwijderde waarden (tombstones).
+ * De snapshot is het verschil van beide versies, die in de State zitten. Een publicatie kost zo O(log n), los van het aantal lezers, en elke snapshot is die van de laatste epoch.
+ * Een tombstone verdwijnt zodra hij het minimum van de ingevoegde waarden is. Zijn er meer tombstones dan waarden, dan bouwen we beide versies opnieuw op (O(n log n), geamortiseerd O(log n)).
+ * Waarden die volgens compareTo gelijk zijn kan de snapshot niet onderscheiden: na een remove kan de snapshot een andere, gelijke waarde bevatten.
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public class SingleWriterHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
+    private final ExtendedHeap<Entry<T>> heap;
+
+    /**
+     * Enkel gebruikt door de schrijver.
+     */
+    private int size;
+    private long epoch;
+    private PersistentLeftistHeap<T> live;
+    private PersistentLeftistHeap<T> deleted;
+
+    private volatile State<T> state;
+
+    /**
+     * @param factory Maakt de onderliggende hoop, bv. Heaps::newPairingHeap.
+     */
+    public SingleWriterHeap(Supplier<? extends ExtendedHeap<Entry<T>>> factory){
+        this.heap = factory.get();
+        this.size = 0;
+        this.epoch = 0;
+        this.live = PersistentLeftistHeap.empty();
+        this.deleted = PersistentLeftistHeap.empty();
+        this.state = new State<>(null, 0, 0, live, deleted);
+    }
+
+    /**
+     * Ruim de tombstones op het minimum op, bouw de persistente versies opnieuw op als er te veel tombstones zijn, en publiceer de toestand.
+     * Enkel de schrijver roept dit op.
+     * Geamortiseerd O(log n)
+     */
+    private void publish(){
+        epoch++;
+        try {
+            //deleted zit altijd in live, dus als het minimum van live niet verwijderd is, is het kleiner dan elke tombstone
+            while (!deleted.isEmpty() && live.findMin().compareTo(deleted.findMin()) == 0){
+                live = live.removeMin();
+                deleted = deleted.removeMin();
+            }
+        } catch (EmptyHeapException e) {
+            //live bevat minstens de tombstones
+            e.printStackTrace();
+        }
+        if(deleted.getSize() > size){
+            live = PersistentLeftistHeap.empty();
+            for (Entry<T> entry : heap) {
+                live = live.insert(entry.value);
+            }
+            deleted = PersistentLeftistHeap.empty();
+        }
+        T min = null;
+        if(size > 0){
+            try {
+                min = heap.findMin().value().value;
+            } catch (EmptyHeapException e) {
+                //De hoop is niet leeg volgens size
+                e.printStackTrace();
+            }
+        }
+        state = new State<>(min, size, epoch, live, deleted);
+    }
+
+    /**
+     * Voeg het element toe aan de onderliggende hoop en publiceer de nieuwe toestand.
+     * @param value De waarde van het toe te voegen element.
+     * @return De referentie naar het toegevoegde element, enkel bruikbaar door de schrijver.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        Handle handle = new Handle(value);
+        Entry<T> entry = new Entry<>(value, handle);
+        handle.entry = entry;
+        handle.ref = heap.insert(entry);
+        live = live.insert(value);
+        size++;
+        publish();
+        return handle;
+    }
+
+    /**
+     * Enkel voor de schrijver, lezers gebruiken {@link #peekMin()}.
+     * @return Het kleinste element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        return heap.findMin().value().handle;
+    }
+
+    /**
+     * Verwijder het kleinste element en publiceer de nieuwe toestand.
+     * @return De waarde van het kleinste element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        Entry<T> min = heap.removeMin();
+        min.handle.ref = null;
+        //Na publish is het minimum van live geen tombstone, en dus gelijk aan min
+        live = live.removeMin();
+        size--;
+        publish();
+        return min.value;
+    }
+
+    /**
+     * Wait-free, door elke thread te gebruiken.
+     * @return De kleinste waarde op het moment van de laatste publicatie, of null als de hoop toen leeg was.
+     */
+    public T peekMin(){
+        return state.min;
+    }
+
+    /**
+     * Wait-free, door elke thread te gebruiken.
+     * @return Het aantal elementen op het moment van de laatste publicatie.
+     */
+    @Override
+    public int getSize() {
+        return state.size;
+    }
+
+    /**
+     * Wait-free, door elke thread te gebruiken.
+     * @return Het aantal aanpassingen tot de laatste publicatie.
+     */
+    public long getEpoch(){
+        return state.epoch;
+    }
+
+    /**
+     * Wait-free, door elke thread te gebruiken.
+     * @return Het minimum, de grootte en de epoch van de laatste publicatie, onderling consistent.
+     */
+    public State<T> getState(){
+        return state;
+    }
+
+    /**
+     * Wait-free, door elke thread te gebruiken. De snapshot deelt zijn toppen met de schrijver, er wordt niets gekopieerd.
+     * @return Alle waarden op het moment van de laatste publicatie.
+     */
+    public Snapshot<T> snapshot(){
+        State<T> current = state;
+        return new Snapshot<>(current.live, current.deleted, current.size, current.epoch);
+    }
+
+    public boolean isEmpty(){
+        return state.size < 1;
+    }
+
+    @Override
+    public String getName() {
+        return "Single-writer " + heap.getName();
+    }
+
+    /**
+     * Print de heap in een human readable vorm. Enkel voor de schrijver.
+     */
+    @Override
+    public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Enkel voor de schrijver, lezers gebruiken {@link #snapshot()}.
+     * @return Een ongeordende Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return heap.stream().map(e -> e.value).spliterator();
+    }
+
+    /**
+     * Enkel voor de schrijver, lezers gebruiken {@link #snapshot()}.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return heap.orderedStream().map(e -> e.value).iterator();
+    }
+
+    /**
+     * We controleren de onderliggende hoop, of de gepubliceerde toestand overeenkomt met de hoop, en of de snapshot dezelfde waarden bevat.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        State<T> current = state;
+        if(current.size != size || current.epoch != epoch || heap.stream().count() != size){
+            return false;
+        }
+        if(!live.isValid() || !deleted.isValid()){
+            return false;
+        }
+        Iterator<T> expected = orderedIterator();
+        for (T value : snapshot()) {
+            if(!expected.hasNext() || expected.next().compareTo(value) != 0){
+                return false;
+            }
+        }
+        if(expected.hasNext()){
+            return false;
+        }
+        try {
+            return heap.isValid() && (size == 0 ? current.min == null : heap.findMin().value().value.compareTo(current.min) == 0);
+        } catch (EmptyHeapException e) {
+            return false;
+        }
+    }
+
+    /**
+     * De gepubliceerde toestand na een aanpassing.
+     * @param <T> Het type van de waarden.
+     */
+    public static final class State<T extends Comparable<T>> {
+        private final T min;
+        private final int size;
+        private final long epoch;
+        private final PersistentLeftistHeap<T> live;
+        private final PersistentLeftistHeap<T> deleted;
+
+        private State(T min, int size, long epoch, PersistentLeftistHeap<T> live, PersistentLeftistHeap<T> deleted) {
+            this.min = min;
+            this.size = size;
+            this.epoch = epoch;
+            this.live = live;
+            this.deleted = deleted;
+        }
+
+        /**
+         * @return De kleinste waarde, of null als de hoop leeg was.
+         */
+        public T getMin() {
+            return min;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getEpoch() {
+            return epoch;
+        }
+    }
+
+    /**
+     * Onveranderlijke verzameling van alle waarden op één epoch: de ingevoegde waarden zonder de tombstones.
+     * @param <T> Het type van de waarden.
+     */
+    public static final class Snapshot<T extends Comparable<T>> implements Iterable<T> {
+        private final PersistentLeftistHeap<T> live;
+        private final PersistentLeftistHeap<T> deleted;
+        private final int size;
+        private final long epoch;
+
+        private Snapshot(PersistentLeftistHeap<T> live, PersistentLeftistHeap<T> deleted, int size, long epoch) {
+            this.live = live;
+            this.deleted = deleted;
+            this.size = size;
+            this.epoch = epoch;
+        }
+
+        /**
+         * O(n log n), op de thread van de lezer.
+         * @return De waarden, in stijgende volgorde.
+         */
+        public List<T> getValues() {
+            List<T> values = new ArrayList<>(size);
+            forEach(values::add);
+            return Collections.unmodifiableList(values);
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * @return De epoch waarop de kopie gemaakt is.
+         */
+        public long getEpoch() {
+            return epoch;
+        }
+
+        /**
+         * Beide versies zijn stijgend, dus slaan we een waarde over als ze gelijk is aan de volgende tombstone.
+         * @return Een iterator over de waarden in stijgende volgorde.
+         */
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<T> values = live.iterator();
+            Iterator<T> tombstones = deleted.iterator();
+            return new Iterator<T>() {
+                private T next = advance();
+                private T tombstone = tombstones.hasNext() ? tombstones.next() : null;
+
+                private T advance(){
+                    return values.hasNext() ? values.next() : null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    skip();
+                    return next != null;
+                }
+
+                @Override
+                public T next() {
+                    if(!hasNext()){
+                        throw new NoSuchElementException();
+                    }
+                    T value = next;
+                    next = advance();
+                    return value;
+                }
+
+                private void skip(){
+                    while (next != null && tombstone != null && next.compareTo(tombstone) == 0){
+                        next = advance();
+                        tombstone = tombstones.hasNext() ? tombstones.next() : null;
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Een waarde in de onderliggende hoop, samen met de referentie die de gebruiker kreeg.
+     * Bij een update maken we een nieuwe Entry, zodat de onderliggende hoop de oude en de nieuwe waarde kan vergelijken.
+     * @param <T> Het type van de waarde.
+     */
+    public static final class Entry<T extends Comparable<T>> implements Comparable<Entry<T>> {
+        private T value;
+        private final SingleWriterHeap<T>.Handle handle;
+
+        private Entry(T value, SingleWriterHeap<T>.Handle handle){
+            this.value = value;
+            this.handle = handle;
+        }
+
+        @Override
+        public int compareTo(Entry<T> o) {
+            return value.compareTo(o.value);
+        }
+
+        @Override
+        public String toString() {
+            return value.toString();
+        }
+    }
+
+    /**
+     * De referentie die de gebruiker krijgt. Elke aanpassing via de referentie wordt gepubliceerd.
+     */
+    private class Handle extends ComparableElement<T> {
+        private Entry<T> entry;
+        private Element<Entry<T>> ref;
+
+        private Handle(T value) {
+            super(value);
+        }
+
+        private void check(){
+            if(ref == null){
+                throw new IllegalStateException("Element " + value + " was removed.");
+            }
+        }
+
+        @Override
+        public void remove() {
+            check();
+            ref.remove();
+            ref = null;
+            deleted = deleted.insert(entry.value);
+            size--;
+            publish();
+        }
+
+        /**
+         * Geef de onderliggende hoop een nieuwe Entry met de nieuwe waarde.
+         * @param value De nieuwe waarde.
+         */
+        @Override
+        public void update(T value) {
+            check();
+            this.value = value;
+            deleted = deleted.insert(entry.value);
+            live = live.insert(value);
+            //Sommige hopen negeren een update met een gelijke waarde, dan passen we de Entry zelf aan
+            if(entry.value.compareTo(value) == 0){
+                entry.value = value;
+            } else {
+                entry = new Entry<>(value, this);
+                ref.update(entry);
+            }
+            publish();
+        }
+    }
+}
@@ -16,6 +16,7 @@ public class Benchmark {
     private int seed = 1234567;
     private boolean random;
     private boolean insert;
+    private Measurement lastRun;
 
     Benchmark(Heap<Integer> heap, List<Integer> values, List<BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>>> operations, boolean random, boolean insert) {
         this.heap = heap;
@@ -26,14 +27,14 @@ public class Benchmark {
         this.insert = insert;
     }
 
-    private Long addBenchmark(){
-        Stopwatch.start();
+    private Measurement addBenchmark(){
+        Measurement measurement = Measurement.start();
 
         for (Integer value : values) {
             elements.add(heap.insert(value));
         }
 
-        return Stopwatch.end();
+        return measurement.stop(values.size());
     }
 
     private void add(){
@@ -42,26 +43,39 @@ public class Benchmark {
         }
     }
 
+    /**
+     * Voer de benchmark uit. De volledige meting, met allocaties en garbage collections, is nadien beschikbaar via {@link #getResult()}.
+     * @return De duur in milliseconden.
+     */
     public Long run(){
         if(insert){
-            return addBenchmark();
-        }
+            lastRun = addBenchmark();
+        } else {
+            if(elements.isEmpty()){
+                add();
+            }
 
-        if(elements.isEmpty()){
-            add();
+            if(random){
+                lastRun = runRandom();
+            } else {
+                lastRun = runInOrder();
+            }
         }
+        return lastRun.getMillis();
+    }
 
-        if(random){
-            return runRandom();
-        } else {
-            return runInOrder();
-        }
+    /**
+     * De allocaties van de benchmark zelf (bv. het bijhouden van de referenties) worden meegeteld.
+     * @return De meting van de laatste run, of null als de benchmark nog niet uitgevoerd is.
+     */
+    public Measurement getResult() {
+        return lastRun;
     }
 
-    private Long runRandom(){
+    private Measurement runRandom(){
         Random random = new Random(seed);
 
-        Stopwatch.start();
+        Measurement measurement = Measurement.start();
         for (BiFunction<Heap<Integer>, Element<Integer>, Element<Integer>> operation : operations) {
             Element<Integer> el = elements.get(random.nextInt(elements.size()));
             Element<Integer> result = operation.apply(heap,  elements.get(random.nextInt(elements.size())));
@@ -70,11 +84,11 @@ public class Benchmark {
             }
         }
 
-        return Stopwatch.end();
+        return measurement.stop(operations.size());
     }
 
-    private Long runInOrder(){
-        Stopwatch.start();
+    private Measurement runInOrder(){
+        Measurement measurement = Measurement.start();
 
         for (int i = 0; i < operations.size()-1; i++) {
             int index = i%elements.size();
@@ -85,6 +99,6 @@ public class Benchmark {
             }
         }
 
-        return Stopwatch.end();
+        return measurement.stop(operations.size() - 1);
     }
 }
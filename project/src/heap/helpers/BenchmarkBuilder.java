@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 
 public class BenchmarkBuilder {
@@ -36,10 +37,7 @@ public class BenchmarkBuilder {
             return null;
         });
 
-        predicates.add((h, e)->{
-            e.update(e.value()*2);
-            return null;
-        });
+        predicates.add(increase(Integer.MAX_VALUE));
 
         items = predicates;
     }
@@ -53,12 +51,28 @@ public class BenchmarkBuilder {
     private boolean remove;
     private boolean decrease;
     private boolean increase;
+    private boolean bucket;
 
     public BenchmarkBuilder binary(){
         heap = Heaps.newBinaryHeap();
         return this;
     }
 
+    public BenchmarkBuilder bottomUpBinary(){
+        heap = Heaps.newBottomUpBinaryHeap();
+        return this;
+    }
+
+    public BenchmarkBuilder segmentedBinary(){
+        heap = Heaps.newSegmentedBinaryHeap();
+        return this;
+    }
+
+    public BenchmarkBuilder bHeap(){
+        heap = Heaps.newBHeap();
+        return this;
+    }
+
     public BenchmarkBuilder binomial(){
         heap = Heaps.newBinomialHeap();
         return this;
@@ -74,11 +88,42 @@ public class BenchmarkBuilder {
         return this;
     }
 
+    public BenchmarkBuilder arenaPairing(){
+        heap = Heaps.newArenaPairingHeap().asHeap();
+        return this;
+    }
+
     public BenchmarkBuilder skew(){
         heap = Heaps.newSkewHeap();
         return this;
     }
 
+    public BenchmarkBuilder radix(){
+        heap = Heaps.newRadixHeap();
+        return this;
+    }
+
+    public BenchmarkBuilder bucket(){
+        heap = null;
+        bucket = true;
+        return this;
+    }
+
+    public BenchmarkBuilder calendar(){
+        heap = Heaps.newCalendarQueue();
+        return this;
+    }
+
+    public BenchmarkBuilder minMax(){
+        heap = Heaps.newMinMaxHeap();
+        return this;
+    }
+
+    public BenchmarkBuilder weak(){
+        heap = Heaps.newWeakHeap();
+        return this;
+    }
+
     public BenchmarkBuilder random(){
         type = DataSets.Type.Random;
         return this;
@@ -154,16 +199,37 @@ public class BenchmarkBuilder {
         return this;
     }
 
-    private void addOptions(int number, List<BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>>> operations){
+    private void addOptions(BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>> operation, List<BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>>> operations){
         for (int i=0; i<amount; i++){
-            operations.add(items.get(number));
+            operations.add(operation);
         }
     }
 
+    /**
+     * Verdubbel de waarde van een element, maar nooit boven max.
+     * Hetzelfde element kan meerdere keren verdubbeld worden, zonder grens zou de waarde buiten het bereik van de bucket queue of van een int vallen.
+     * @param max De grootste toegelaten waarde.
+     * @return De bewerking.
+     */
+    private static BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>> increase(int max){
+        return (h, e)->{
+            e.update((int) Math.min(e.value() * 2L, max));
+            return null;
+        };
+    }
+
     public Benchmark build(){
-        if (heap == null) {
+        int max = Integer.MAX_VALUE;
+        if (heap == null && bucket) {
+            //De datasets gaan tot amount * 10, het bereik laat ruimte voor één verdubbeling. Verdere verdubbelingen worden afgekapt op het bereik.
+            int range = amount * 20;
+            heap = Heaps.newBucketQueue(range);
+            max = range - 1;
+        } else if (heap == null) {
             binary();
         }
+        List<BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>>> items = new ArrayList<>(BenchmarkBuilder.items);
+        items.set(3, increase(max));
 
         List<BiFunction<Heap<Integer>,Element<Integer>, Element<Integer>>> operations = new ArrayList<>(amount);
         if(random){
@@ -176,22 +242,32 @@ public class BenchmarkBuilder {
         }
 
         if(removeMin){
-            addOptions(0, operations);
+            addOptions(items.get(0), operations);
         }
 
         if(remove){
-            addOptions(1, operations);
+            addOptions(items.get(1), operations);
         }
 
         if(decrease){
-            addOptions(2, operations);
+            addOptions(items.get(2), operations);
         }
 
         if(increase){
-            addOptions(3, operations);
+            addOptions(items.get(3), operations);
         }
 
-        List<Integer> items = type.getGenerator().apply(amount);
-        return new Benchmark(heap, items, operations, notInOrder, insert);
+        List<Integer> values = type.getGenerator().apply(amount);
+        return new Benchmark(heap, values, operations, notInOrder, insert);
+    }
+
+    /**
+     * Tel de vergelijkingen om amount waarden van de gekozen dataset toe te voegen en weer te verwijderen.
+     * De gekozen hoop en bewerkingen worden genegeerd: de sleutels zijn geen Integers, dus de hoop komt van de factory.
+     * @param factory Maakt de hoop, bv. Heaps::newWeakHeap.
+     * @return De benchmark.
+     */
+    public ComparisonBenchmark buildComparison(Supplier<? extends Heap<ComparisonBenchmark.Key>> factory){
+        return new ComparisonBenchmark(factory, type.getGenerator().apply(amount));
     }
 }
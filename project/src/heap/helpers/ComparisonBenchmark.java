@@ -0,0 +1,70 @@
+package heap.helpers;
+
+import heap.EmptyHeapException;
+import heap.Heap;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Telt het aantal vergelijkingen in plaats van de tijd, voor sleutels waarvan compareTo duur is.
+ * Elke run maakt een eigen teller en eigen sleutels aan, zodat runs naast of in elkaar elkaars telling niet beïnvloeden.
+ * Zie {@link BenchmarkBuilder#buildComparison(Supplier)}.
+ */
+public class ComparisonBenchmark {
+    private final Supplier<? extends Heap<Key>> heap;
+    private final List<Integer> values;
+
+    public ComparisonBenchmark(Supplier<? extends Heap<Key>> heap, List<Integer> values) {
+        this.heap = heap;
+        this.values = values;
+    }
+
+    /**
+     * Voeg alle waarden toe en verwijder ze nadien met removeMin.
+     * @return Het aantal vergelijkingen voor het toevoegen en voor het verwijderen.
+     */
+    public long[] run(){
+        Heap<Key> h = heap.get();
+        LongAdder comparisons = new LongAdder();
+
+        for (Integer value : values) {
+            h.insert(new Key(value, comparisons));
+        }
+        long insert = comparisons.sumThenReset();
+
+        try {
+            for (int i = 0; i < values.size(); i++) {
+                h.removeMin();
+            }
+        } catch (EmptyHeapException e) {
+            e.printStackTrace();
+        }
+        return new long[]{insert, comparisons.sum()};
+    }
+
+    /**
+     * Een sleutel die elke vergelijking telt in de teller van zijn run.
+     */
+    public static class Key implements Comparable<Key> {
+        private final int value;
+        private final LongAdder comparisons;
+
+        public Key(int value, LongAdder comparisons) {
+            this.value = value;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        public int compareTo(Key o) {
+            comparisons.increment();
+            return Integer.compare(value, o.value);
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(value);
+        }
+    }
+}
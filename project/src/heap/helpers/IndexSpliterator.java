@@ -0,0 +1,65 @@
+package heap.helpers;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Ongeordende Spliterator over een reeks indices van een array, bv. de posities 1 tot en met size van een binaire hoop.
+ * Splitsen deelt de reeks in twee.
+ * Het array mag niet aangepast worden zolang de Spliterator gebruikt wordt.
+ * @param <T> Het type van de waarden.
+ */
+public class IndexSpliterator<T> implements Spliterator<T> {
+    private int from;
+    private final int to;
+    private final IntFunction<T> value;
+
+    /**
+     * @param from De eerste index.
+     * @param to De index na de laatste index.
+     * @param value De waarde op een index.
+     */
+    public IndexSpliterator(int from, int to, IntFunction<T> value) {
+        this.from = from;
+        this.to = to;
+        this.value = value;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if(from>=to){
+            return false;
+        }
+        action.accept(value.apply(from++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        while (from<to){
+            action.accept(value.apply(from++));
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        int middle = (from + to) >>> 1;
+        if(middle<=from){
+            return null;
+        }
+        IndexSpliterator<T> prefix = new IndexSpliterator<>(from, middle, value);
+        from = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return to - from;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | NONNULL;
+    }
+}
@@ -0,0 +1,119 @@
+package heap.helpers;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Meet naast de tijd ook het aantal gealloceerde bytes van de huidige thread en het aantal garbage collections tijdens een benchmark.
+ * De bytes komen van com.sun.management.ThreadMXBean#getThreadAllocatedBytes. Op een JVM die dat niet ondersteunt zijn ze -1.
+ * De garbage collections tellen we over alle collectors van de JVM, dus ook die veroorzaakt door andere threads.
+ */
+public class Measurement {
+    private final long startBytes;
+    private final long startGcCount;
+    private final long startGcMillis;
+
+    private long millis;
+    private long allocatedBytes;
+    private long gcCount;
+    private long gcMillis;
+    private long operations;
+
+    private Measurement() {
+        this.startBytes = allocatedBytes();
+        this.startGcCount = gcCount();
+        this.startGcMillis = gcMillis();
+    }
+
+    /**
+     * Start een nieuwe meting, en de Stopwatch.
+     * @return De lopende meting.
+     */
+    public static Measurement start(){
+        Measurement measurement = new Measurement();
+        Stopwatch.start();
+        return measurement;
+    }
+
+    /**
+     * Stop de meting.
+     * @param operations Het aantal uitgevoerde bewerkingen, om per bewerking te kunnen rekenen.
+     * @return Deze meting.
+     */
+    public Measurement stop(long operations){
+        this.millis = Stopwatch.end();
+        long bytes = allocatedBytes();
+        this.allocatedBytes = bytes < 0 || startBytes < 0 ? -1 : bytes - startBytes;
+        this.gcCount = gcCount() - startGcCount;
+        this.gcMillis = gcMillis() - startGcMillis;
+        this.operations = operations;
+        return this;
+    }
+
+    private static long allocatedBytes(){
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(bean instanceof com.sun.management.ThreadMXBean){
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()){
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long gcCount(){
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis(){
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @return Het aantal gealloceerde bytes, of -1 als de JVM dat niet kan meten.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcMillis() {
+        return gcMillis;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return Het gemiddeld aantal gealloceerde bytes per bewerking, of -1 als de JVM dat niet kan meten.
+     */
+    public double getBytesPerOperation() {
+        if(allocatedBytes < 0){
+            return -1;
+        }
+        return operations == 0 ? 0 : (double) allocatedBytes / operations;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ms, %d bytes allocated (%.1f bytes/op over %d ops), %d GCs (%d ms)",
+                millis, allocatedBytes, getBytesPerOperation(), operations, gcCount, gcMillis);
+    }
+}
@@ -0,0 +1,139 @@
+package heap.helpers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Geeft de waarden van een hoop lui in stijgende volgorde, zonder de hoop aan te passen.
+ * We houden een hulphoop (de grens) bij van toppen die nog niet teruggegeven zijn, maar waarvan de ouder wel al teruggegeven is.
+ * De kinderen van een top onderling zijn niet geordend, dus de grens bevat groepen: de wortels, of de kinderen van één teruggegeven top.
+ * Een groep is zelf een kleine binaire hoop die in O(d) opgebouwd wordt, en staat in de grens op zijn minimum.
+ * Het minimum van de grens is telkens het volgende element. Nadien komt zijn groep terug in de grens (als die niet leeg is) en komen zijn kinderen als één nieuwe groep in de grens.
+ * De grens groeit zo met hoogstens 1 groep per stap: de k kleinste elementen kosten O(k log(k d) + c), met d de grootste groep en c het totaal aantal kinderen van die k toppen.
+ * De hoop mag niet aangepast worden zolang de iterator gebruikt wordt.
+ * @param <N> Het type van de toppen.
+ * @param <T> Het type van de waarden.
+ */
+public class OrderedIterator<N, T> implements Iterator<T> {
+    private final PriorityQueue<Group> frontier;
+    private final Comparator<N> order;
+    private final BiConsumer<N, Consumer<N>> children;
+    private final Function<N, T> value;
+
+    /**
+     * @param roots De wortels van de hoop.
+     * @param order De volgorde van de toppen.
+     * @param children Geeft alle toppen die pas na deze top in de grens mogen komen, die moeten minstens gelijk zijn aan deze top.
+     * @param value De waarde van een top.
+     */
+    public OrderedIterator(Collection<N> roots, Comparator<N> order, BiConsumer<N, Consumer<N>> children, Function<N, T> value) {
+        this.frontier = new PriorityQueue<>((a, b) -> order.compare(a.peek(), b.peek()));
+        this.order = order;
+        this.children = children;
+        this.value = value;
+        add(new ArrayList<>(roots));
+    }
+
+    /**
+     * Maak van de toppen een groep en zet die in de grens.
+     * @param nodes De toppen van de groep.
+     */
+    private void add(List<N> nodes){
+        if(!nodes.isEmpty()){
+            frontier.add(new Group(nodes));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !frontier.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        Group group = frontier.poll();
+        if(group==null){
+            throw new NoSuchElementException();
+        }
+        N node = group.poll();
+        if(!group.isEmpty()){
+            frontier.add(group);
+        }
+        List<N> next = new ArrayList<>();
+        children.accept(node, next::add);
+        add(next);
+        return value.apply(node);
+    }
+
+    /**
+     * Een binaire hoop (vanaf 0) over een vaste lijst toppen, die enkel kleiner wordt.
+     */
+    private class Group {
+        private final List<N> nodes;
+        private int size;
+
+        /**
+         * Heapify van onder naar boven.
+         * O(d)
+         * @param nodes De toppen, deze lijst wordt herschikt.
+         */
+        private Group(List<N> nodes){
+            this.nodes = nodes;
+            this.size = nodes.size();
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                moveDown(i, nodes.get(i));
+            }
+        }
+
+        private N peek(){
+            return nodes.get(0);
+        }
+
+        /**
+         * De laatste top komt in de wortel en beweegt naar beneden.
+         * O(log(d))
+         * @return De kleinste top.
+         */
+        private N poll(){
+            N min = nodes.get(0);
+            N last = nodes.get(--size);
+            nodes.set(size, null);
+            if(size > 0){
+                moveDown(0, last);
+            }
+            return min;
+        }
+
+        private boolean isEmpty(){
+            return size < 1;
+        }
+
+        /**
+         * Zolang het kleinste kind kleiner is dan de top schuiven we dat kind naar boven.
+         * @param i De vrije index.
+         * @param node De te plaatsen top.
+         */
+        private void moveDown(int i, N node){
+            while (2 * i + 1 < size){
+                int child = 2 * i + 1;
+                if(child + 1 < size && order.compare(nodes.get(child + 1), nodes.get(child)) < 0){
+                    child++;
+                }
+                if(order.compare(nodes.get(child), node) >= 0){
+                    break;
+                }
+                nodes.set(i, nodes.get(child));
+                i = child;
+            }
+            nodes.set(i, node);
+        }
+    }
+}
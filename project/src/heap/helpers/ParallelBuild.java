@@ -0,0 +1,124 @@
+package heap.helpers;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.IntConsumer;
+
+/**
+ * Hulpmethodes om een hoop in één keer parallel op te bouwen met een ForkJoinPool.
+ * Deelbomen en deelreeksen kleiner dan {@link #THRESHOLD} worden niet meer gesplitst, kleinere taken kosten meer dan ze opbrengen.
+ */
+public class ParallelBuild {
+    public static final int THRESHOLD = 1 << 12;
+
+    private ParallelBuild(){
+    }
+
+    /**
+     * Floyd voor een binaire hoop die vanaf 1 telt: de twee deelbomen van een top worden in aparte taken hersteld, daarna de top zelf.
+     * De bovenste niveaus worden zo sequentieel afgewerkt nadat de onderliggende deelbomen klaar zijn.
+     * Verschillende deelbomen delen geen posities in het array, dus de taken hebben geen synchronisatie nodig buiten de join.
+     * @param size Het aantal elementen in de hoop.
+     * @param fix Laat het element op de gegeven index naar beneden bewegen, zoals fixHeap.
+     * @param pool De pool waarin de taken uitgevoerd worden.
+     */
+    public static void heapify(int size, IntConsumer fix, ForkJoinPool pool){
+        if(size > 1){
+            pool.invoke(new Heapify(1, size, fix));
+        }
+    }
+
+    /**
+     * Voeg de gegeven bomen samen via een boom van merges: eerst paarsgewijs, dan de resultaten paarsgewijs, enzovoort.
+     * Zo is elke merge tussen twee bomen van ongeveer dezelfde grootte en kunnen de twee helften in aparte taken samengevoegd worden.
+     * @param nodes De wortels van de samen te voegen bomen, die elk nog niet gedeeld worden.
+     * @param merge Voegt twee wortels samen en geeft de nieuwe wortel terug.
+     * @param pool De pool waarin de taken uitgevoerd worden, of null om sequentieel te werken.
+     * @param <N> Het type van de toppen.
+     * @return De wortel van het resultaat, of null als er geen bomen zijn.
+     */
+    public static <N> N reduce(List<N> nodes, BinaryOperator<N> merge, ForkJoinPool pool){
+        if(nodes.isEmpty()){
+            return null;
+        }
+        Reduce<N> task = new Reduce<>(nodes, 0, nodes.size(), merge);
+        return pool == null ? task.sequential(0, nodes.size()) : pool.invoke(task);
+    }
+
+    private static class Heapify extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+        private final int size;
+        private final IntConsumer fix;
+
+        private Heapify(int index, int size, IntConsumer fix) {
+            this.index = index;
+            this.size = size;
+            this.fix = fix;
+        }
+
+        @Override
+        protected void compute() {
+            //De deelboom van index heeft ongeveer size / 2^diepte toppen
+            if(size / Integer.highestOneBit(index) <= THRESHOLD){
+                sequential(index);
+                return;
+            }
+            invokeAll(new Heapify(2 * index, size, fix), new Heapify(2 * index + 1, size, fix));
+            fix.accept(index);
+        }
+
+        /**
+         * Herstel eerst de twee deelbomen en dan de top zelf. Bladeren moeten niet hersteld worden.
+         * @param i De wortel van de deelboom.
+         */
+        private void sequential(int i){
+            if(i > size / 2){
+                return;
+            }
+            sequential(2 * i);
+            sequential(2 * i + 1);
+            fix.accept(i);
+        }
+    }
+
+    private static class Reduce<N> extends RecursiveTask<N> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<N> nodes;
+        private final int from;
+        private final int to;
+        private final BinaryOperator<N> merge;
+
+        private Reduce(List<N> nodes, int from, int to, BinaryOperator<N> merge) {
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.merge = merge;
+        }
+
+        @Override
+        protected N compute() {
+            if(to - from <= THRESHOLD){
+                return sequential(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Reduce<N> left = new Reduce<>(nodes, from, middle, merge);
+            left.fork();
+            N right = new Reduce<>(nodes, middle, to, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+
+        private N sequential(int from, int to){
+            if(to - from == 1){
+                return nodes.get(from);
+            }
+            int middle = (from + to) >>> 1;
+            return merge.apply(sequential(from, middle), sequential(middle, to));
+        }
+    }
+}
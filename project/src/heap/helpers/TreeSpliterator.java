@@ -0,0 +1,116 @@
+package heap.helpers;
+
+import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Ongeordende Spliterator over de toppen van een boom waarvan elke top hoogstens 2 opvolgers heeft
+ * (links en rechts, of eerste kind en volgende broer).
+ * We overlopen de boom zonder recursie met een stapel van nog te bezoeken deelbomen.
+ * Splitsen geeft de helft van die deelbomen aan een nieuwe Spliterator, zodat parallelle streams de boom kunnen doorlopen.
+ * De boom mag niet aangepast worden zolang de Spliterator gebruikt wordt.
+ * @param <N> Het type van de toppen.
+ * @param <T> Het type van de waarden.
+ */
+public class TreeSpliterator<N, T> implements Spliterator<T> {
+    private final ArrayDeque<N> pending;
+    private final Function<N, N> first;
+    private final Function<N, N> second;
+    private final Function<N, T> value;
+    private long estimate;
+
+    /**
+     * De waarde van een top die we bij het splitsen opengevouwen hebben, en die nog teruggegeven moet worden.
+     */
+    private T buffered;
+
+    /**
+     * @param root De wortel van de boom, of null voor een lege boom.
+     * @param estimate Het (geschatte) aantal toppen, of Long.MAX_VALUE als dit niet gekend is.
+     * @param first De eerste opvolger van een top, of null.
+     * @param second De tweede opvolger van een top, of null.
+     * @param value De waarde van een top.
+     */
+    public TreeSpliterator(N root, long estimate, Function<N, N> first, Function<N, N> second, Function<N, T> value) {
+        this(new ArrayDeque<>(), estimate, first, second, value);
+        push(root);
+    }
+
+    private TreeSpliterator(ArrayDeque<N> pending, long estimate, Function<N, N> first, Function<N, N> second, Function<N, T> value) {
+        this.pending = pending;
+        this.estimate = estimate;
+        this.first = first;
+        this.second = second;
+        this.value = value;
+    }
+
+    private void push(N node){
+        if(node!=null){
+            pending.addLast(node);
+        }
+    }
+
+    /**
+     * Neem de laatst toegevoegde deelboom, zet de opvolgers van zijn wortel op de stapel.
+     * @return De wortel van de deelboom, of null als er geen deelbomen meer zijn.
+     */
+    private N pop(){
+        N node = pending.pollLast();
+        if(node!=null){
+            push(first.apply(node));
+            push(second.apply(node));
+        }
+        return node;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if(buffered!=null){
+            T ret = buffered;
+            buffered = null;
+            action.accept(ret);
+            return true;
+        }
+        N node = pop();
+        if(node==null){
+            return false;
+        }
+        action.accept(value.apply(node));
+        return true;
+    }
+
+    /**
+     * Geef de oudste helft van de nog te bezoeken deelbomen af. Is er maar één deelboom, dan vouwen we zijn wortel eerst open.
+     * @return Een Spliterator over de afgesplitste deelbomen, of null als er niets te splitsen valt.
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if(pending.size()==1 && buffered==null){
+            buffered = value.apply(pop());
+        }
+        if(pending.size()<2){
+            return null;
+        }
+
+        ArrayDeque<N> half = new ArrayDeque<>();
+        for (int i = pending.size() / 2; i > 0; i--) {
+            half.addLast(pending.pollFirst());
+        }
+        if(estimate!=Long.MAX_VALUE){
+            estimate >>>= 1;
+        }
+        return new TreeSpliterator<>(half, estimate, first, second, value);
+    }
+
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+}
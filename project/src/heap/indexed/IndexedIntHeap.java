@@ -0,0 +1,231 @@
+package heap.indexed;
+
+import heap.EmptyHeapException;
+
+import java.util.Arrays;
+
+/**
+ * Geïndexeerde binaire hoop voor dichte gehele id's (bv. toppen van een graaf) met een long als sleutel.
+ * In plaats van een Element per waarde houden we drie arrays bij: heap (de id's in heapvolgorde, vanaf index 1),
+ * pos (de positie van elke id in heap, 0 als de id niet in de hoop zit) en keys (de sleutel van elke id).
+ * Er worden dus geen objecten per element aangemaakt. De arrays groeien mee met de grootste id.
+ */
+public class IndexedIntHeap {
+
+    private int size;
+    private int[] heap;
+    private int[] pos;
+    private long[] keys;
+
+    public IndexedIntHeap(){
+        this(16);
+    }
+
+    /**
+     * @param capacity Het verwachte aantal id's, de id's gaan van 0 tot capacity - 1.
+     */
+    public IndexedIntHeap(int capacity){
+        capacity = Math.max(capacity, 1);
+        this.heap = new int[capacity + 1];
+        this.pos = new int[capacity];
+        this.keys = new long[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Voeg een id toe met de gegeven sleutel.
+     * O(log(n))
+     * @param id De id, die nog niet in de hoop mag zitten.
+     * @param key De sleutel.
+     */
+    public void insert(int id, long key){
+        if(id < 0){
+            throw new IllegalArgumentException("Id " + id + " is negative.");
+        }
+        if(id >= pos.length){
+            int capacity = Math.max(pos.length * 2, id + 1);
+            pos = Arrays.copyOf(pos, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        if(contains(id)){
+            throw new IllegalArgumentException("Id " + id + " is already in the heap.");
+        }
+        if(size + 1 >= heap.length){
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+
+        keys[id] = key;
+        moveUp(++size, id);
+    }
+
+    /**
+     * @param id De id.
+     * @return Of de id in de hoop zit.
+     */
+    public boolean contains(int id){
+        return id >= 0 && id < pos.length && pos[id] != 0;
+    }
+
+    /**
+     * @param id De id, die in de hoop moet zitten.
+     * @return De sleutel van de id.
+     */
+    public long key(int id){
+        check(id);
+        return keys[id];
+    }
+
+    /**
+     * Verlaag de sleutel van een id.
+     * O(log(n))
+     * @param id De id, die in de hoop moet zitten.
+     * @param key De nieuwe sleutel, die niet groter mag zijn dan de huidige.
+     */
+    public void decreaseKey(int id, long key){
+        check(id);
+        if(key > keys[id]){
+            throw new IllegalArgumentException("Key " + key + " is larger than the current key " + keys[id] + ".");
+        }
+        keys[id] = key;
+        moveUp(pos[id], id);
+    }
+
+    /**
+     * Geef een id een nieuwe sleutel, die zowel groter als kleiner mag zijn.
+     * O(log(n))
+     * @param id De id, die in de hoop moet zitten.
+     * @param key De nieuwe sleutel.
+     */
+    public void update(int id, long key){
+        check(id);
+        long old = keys[id];
+        keys[id] = key;
+        if(key < old){
+            moveUp(pos[id], id);
+        } else {
+            moveDown(pos[id], id);
+        }
+    }
+
+    /**
+     * Verwijder een id uit de hoop. De laatste id komt op zijn plaats en beweegt naar boven of naar beneden.
+     * O(log(n))
+     * @param id De id, die in de hoop moet zitten.
+     */
+    public void remove(int id){
+        check(id);
+        int i = pos[id];
+        pos[id] = 0;
+        int last = heap[size--];
+        if(i <= size){
+            if(i > 1 && keys[last] < keys[heap[i / 2]]){
+                moveUp(i, last);
+            } else {
+                moveDown(i, last);
+            }
+        }
+    }
+
+    /**
+     * @return De id met de kleinste sleutel.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    public int peekId() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        return heap[1];
+    }
+
+    /**
+     * @return De kleinste sleutel.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    public long peekKey() throws EmptyHeapException {
+        return keys[peekId()];
+    }
+
+    /**
+     * Verwijder de id met de kleinste sleutel.
+     * O(log(n))
+     * @return De verwijderde id.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    public int pollId() throws EmptyHeapException {
+        int id = peekId();
+        remove(id);
+        return id;
+    }
+
+    /**
+     * We schuiven de ouders naar beneden tot we de plaats van de id gevonden hebben, en schrijven de id pas op het einde weg.
+     * @param i De vrije positie waar we beginnen.
+     * @param id De te plaatsen id.
+     */
+    private void moveUp(int i, int id){
+        long key = keys[id];
+        while (i > 1 && keys[heap[i / 2]] > key){
+            heap[i] = heap[i / 2];
+            pos[heap[i]] = i;
+            i = i / 2;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    /**
+     * We schuiven het kleinste kind naar boven tot we de plaats van de id gevonden hebben, en schrijven de id pas op het einde weg.
+     * @param i De vrije positie waar we beginnen.
+     * @param id De te plaatsen id.
+     */
+    private void moveDown(int i, int id){
+        long key = keys[id];
+        while (2 * i <= size){
+            int child = 2 * i;
+            if(child < size && keys[heap[child + 1]] < keys[heap[child]]){
+                child++;
+            }
+            if(keys[heap[child]] >= key){
+                break;
+            }
+            heap[i] = heap[child];
+            pos[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void check(int id){
+        if(!contains(id)){
+            throw new IllegalArgumentException("Id " + id + " is not in the heap.");
+        }
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size < 1;
+    }
+
+    /**
+     * We controleren of elke ouder maximaal gelijk is aan zijn kinderen en of pos en heap elkaars inverse zijn.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    public boolean isValid(){
+        for (int i = 1; i <= size; i++) {
+            if(pos[heap[i]] != i || (i > 1 && keys[heap[i / 2]] > keys[heap[i]])){
+                return false;
+            }
+        }
+        int count = 0;
+        for (int p : pos) {
+            if(p != 0){
+                count++;
+            }
+        }
+        return count == size;
+    }
+}
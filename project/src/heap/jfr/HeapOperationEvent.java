@@ -0,0 +1,56 @@
+package heap.jfr;
+
+import heap.ExtendedHeap;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event voor een trage bewerking op een hoop.
+ * Standaard uitgeschakeld: zet heap.Operation aan in de instellingen van de opname, en pas daar eventueel de drempel aan (standaard 1 ms), bv.
+ * {@code recording.enable(HeapOperationEvent.class).withThreshold(Duration.ofMillis(5))}.
+ * Een hoop maakt het event aan voor de bewerking, roept begin op en pas na de bewerking {@link #shouldCommit()}.
+ * Zolang het event uitgeschakeld is geeft shouldCommit false en ruimt de JIT het ongebruikte object op, zodat het niets kost.
+ * De naam en de grootte van de hoop en het gedane werk worden enkel berekend als het event effectief weggeschreven wordt.
+ * Hopen die het werk tijdens een merge tellen geven daarvoor enkel een teller mee als {@link #isEnabled()} true geeft, zonder event schrijven ze geen velden.
+ */
+@Name("heap.Operation")
+@Label("Heap Operation")
+@Category("Heap")
+@Description("A heap operation that took longer than the threshold")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class HeapOperationEvent extends Event {
+    @Label("Operation")
+    private String operation;
+
+    @Label("Heap")
+    private String heap;
+
+    @Label("Size")
+    private int size;
+
+    @Label("Work")
+    @Description("Structural work done: levels sifted or swaps made in an array heap, joins in a weak heap, links made in a merge, roots scanned plus links in a binomial heap, children paired in a pairing heap")
+    private long work;
+
+    /**
+     * Vul de velden in en schrijf het event weg. Enkel oproepen als {@link #shouldCommit()} true gaf.
+     * @param operation De bewerking, bv. removeMin.
+     * @param heap De hoop.
+     * @param work Het structurele werk van de bewerking.
+     */
+    public void emit(String operation, ExtendedHeap<?> heap, long work){
+        this.operation = operation;
+        this.heap = heap.getName();
+        this.size = heap.getSize();
+        this.work = work;
+        commit();
+    }
+}
@@ -0,0 +1,49 @@
+package heap.jmx;
+
+import java.util.Map;
+
+/**
+ * De kengetallen van een {@link MonitoredHeap} zoals ze via JMX zichtbaar zijn.
+ * De grootte lezen we rechtstreeks van de hoop. De tellers komen van de laatste publicatie door de thread die de hoop gebruikt,
+ * en lopen zolang de hoop gebruikt wordt hoogstens één publicatie-interval of {@link MonitoredHeap#MAX_AGE_NANOS} achter.
+ */
+public interface HeapStatsMXBean {
+    String getHeapName();
+
+    int getSize();
+
+    long getInserts();
+
+    long getRemoveMins();
+
+    /**
+     * @return Het aantal insert bewerkingen per seconde sinds de laatste reset, tot nu. Voor een hoop die niet meer gebruikt wordt daalt dit dus.
+     */
+    double getInsertRate();
+
+    /**
+     * @return Het aantal removeMin bewerkingen per seconde sinds de laatste reset, tot nu.
+     */
+    double getRemoveMinRate();
+
+    /**
+     * @return De gemiddelde duur van de gemeten removeMin bewerkingen, in nanoseconden.
+     */
+    double getMeanRemoveMinNanos();
+
+    /**
+     * We meten maar één op de interval / 16 removeMin bewerkingen, dit is dus het maximum van een steekproef en niet het echte maximum.
+     * @return De langste gemeten removeMin bewerking, in nanoseconden.
+     */
+    long getSampledMaxRemoveMinNanos();
+
+    /**
+     * @return De vorm van de hoop, zie {@link heap.ExtendedHeap#getShape()}.
+     */
+    Map<String, Long> getShape();
+
+    /**
+     * Zet alle tellers meteen terug op 0. De thread die de hoop gebruikt zet zijn eigen tellers terug bij de volgende publicatie.
+     */
+    void reset();
+}
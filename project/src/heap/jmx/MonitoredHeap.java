@@ -0,0 +1,357 @@
+package heap.jmx;
+
+import heap.*;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+
+/**
+ * Hoop die bewerkingen telt rond een andere hoop, en de kengetallen als MBean ({@link HeapStatsMXBean}) kan registreren.
+ * De tellers worden enkel door de thread die de hoop gebruikt aangepast, als gewone velden.
+ * Elke {@link #DEFAULT_INTERVAL} bewerkingen publiceren we ze samen in één onveranderlijk object via een volatile veld, dat de MBean leest.
+ * Om de interval / 16 bewerkingen kijken we ook naar de klok, en publiceren we als de laatste publicatie ouder is dan {@link #MAX_AGE_NANOS}, zodat ook een trage hoop bijgewerkt wordt.
+ * De duur van removeMin meten we maar bij één op de interval / 16 bewerkingen, en de vorm van de hoop vragen we enkel op bij een publicatie na een removeMin.
+ * Zo kost het meten minder dan 1% van een removeMin, ook op een grote hoop.
+ * De grootte leest de MBean rechtstreeks van de onderliggende hoop, en een reset werkt meteen, zodat ook een hoop die stil ligt juiste waarden toont.
+ * De referenties zijn die van de onderliggende hoop: remove en update via een referentie worden niet geteld.
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public class MonitoredHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
+    public static final int DEFAULT_INTERVAL = 1024;
+    public static final long MAX_AGE_NANOS = 100_000_000L;
+
+    private final ExtendedHeap<T> heap;
+    private final int mask;
+    private final int latencyMask;
+    private final Stats stats;
+    private ObjectName objectName;
+
+    private long operations;
+    private long inserts;
+    private long removeMins;
+    private long measured;
+    private long totalNanos;
+    private long maxNanos;
+    private long since;
+    private long publishedAt;
+    private int generation;
+    private Map<String, Long> shape;
+
+    public MonitoredHeap(ExtendedHeap<T> heap){
+        this(heap, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param heap De hoop die we opvolgen.
+     * @param interval Het aantal bewerkingen tussen twee publicaties, een macht van 2 en minstens 16.
+     */
+    public MonitoredHeap(ExtendedHeap<T> heap, int interval){
+        if(interval < 16 || Integer.bitCount(interval) != 1){
+            throw new IllegalArgumentException("Interval " + interval + " must be a power of 2 of at least 16.");
+        }
+        this.heap = heap;
+        this.mask = interval - 1;
+        this.latencyMask = interval / 16 - 1;
+        this.stats = new Stats();
+        this.shape = Collections.emptyMap();
+        this.since = System.nanoTime();
+        publish();
+    }
+
+    /**
+     * Registreer de kengetallen bij de platform MBeanServer, onder heap:type=&lt;klasse&gt;,name=&lt;naam&gt;.
+     * @param name De naam waaronder de hoop zichtbaar is.
+     * @return De naam van de MBean.
+     * @throws JMException De naam is ongeldig of al in gebruik.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("heap:type=" + heap.getClass().getSimpleName() + ",name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(stats, objectName);
+        this.objectName = objectName;
+        return objectName;
+    }
+
+    /**
+     * Verwijder de MBean weer, als die geregistreerd was.
+     * @throws JMException De MBean kon niet verwijderd worden.
+     */
+    public void unregister() throws JMException {
+        if(objectName != null){
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            objectName = null;
+        }
+    }
+
+    /**
+     * @return De kengetallen, zoals ze via JMX zichtbaar zijn.
+     */
+    public HeapStatsMXBean getStats(){
+        return stats;
+    }
+
+    /**
+     * Publiceer de tellers voor de MBean. Dit gebeurt automatisch om de zoveel bewerkingen, enkel de thread die de hoop gebruikt mag dit oproepen.
+     * Na een reset trekken we eerst de waarden van bij de reset af van onze eigen tellers, zoals de MBean tot dan doet.
+     */
+    public void publish(){
+        publishedAt = System.nanoTime();
+        if(stats.resetRequested){
+            stats.resetRequested = false;
+            Published base = stats.base;
+            if(base != null && base.generation == generation){
+                inserts -= base.inserts;
+                removeMins -= base.removeMins;
+                measured -= base.measured;
+                totalNanos -= base.totalNanos;
+                since = stats.resetAt;
+            } else {
+                inserts = removeMins = measured = totalNanos = 0;
+                since = publishedAt;
+            }
+            if(measured == 0){
+                maxNanos = 0;
+            }
+            generation++;
+        }
+        stats.published = new Published(generation, inserts, removeMins, measured, totalNanos, maxNanos, since, shape);
+    }
+
+    /**
+     * Tel een bewerking, en publiceer om de interval bewerkingen of als de laatste publicatie te oud is.
+     * @param removeMin Of het een removeMin was, dan vragen we ook de vorm van de hoop op.
+     */
+    private void count(boolean removeMin){
+        long ops = ++operations;
+        if((ops & mask) == 0 || ((ops & latencyMask) == 0 && System.nanoTime() - publishedAt > MAX_AGE_NANOS)){
+            if(removeMin){
+                shape = heap.getShape();
+            }
+            publish();
+        }
+    }
+
+    @Override
+    public Element<T> insert(T value) {
+        inserts++;
+        Element<T> element = heap.insert(value);
+        count(false);
+        return element;
+    }
+
+    @Override
+    public List<? extends Element<T>> insertAll(Collection<T> values) {
+        inserts += values.size();
+        operations += values.size();
+        List<? extends Element<T>> elements = heap.insertAll(values);
+        publish();
+        return elements;
+    }
+
+    @Override
+    public Element<T> findMin() throws EmptyHeapException {
+        return heap.findMin();
+    }
+
+    /**
+     * Meet de duur bij één op de interval / 16 bewerkingen, en vraag de vorm van de hoop op bij een publicatie.
+     * @return De waarde van het kleinste element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        T min;
+        if((removeMins & latencyMask) == 0){
+            long start = System.nanoTime();
+            min = heap.removeMin();
+            long nanos = System.nanoTime() - start;
+            measured++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        } else {
+            min = heap.removeMin();
+        }
+        removeMins++;
+        count(true);
+        return min;
+    }
+
+    @Override
+    public int getSize() {
+        return heap.getSize();
+    }
+
+    /**
+     * @return De vorm van de hoop bij de laatste publicatie na een removeMin.
+     */
+    @Override
+    public Map<String, Long> getShape() {
+        return shape;
+    }
+
+    @Override
+    public String getName() {
+        return "Monitored " + heap.getName();
+    }
+
+    @Override
+    public void printHeap() {
+        heap.printHeap();
+    }
+
+    @Override
+    public boolean isValid() {
+        return heap.isValid();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return heap.spliterator();
+    }
+
+    @Override
+    public Iterator<T> orderedIterator() {
+        return heap.orderedIterator();
+    }
+
+    /**
+     * De tellers op het moment van een publicatie.
+     */
+    private static final class Published {
+        /**
+         * Het aantal resets dat de thread die de hoop gebruikt al uitgevoerd heeft.
+         */
+        private final int generation;
+        private final long inserts;
+        private final long removeMins;
+        private final long measured;
+        private final long totalNanos;
+        private final long maxNanos;
+        /**
+         * Het tijdstip van de laatste reset, volgens System.nanoTime().
+         */
+        private final long since;
+        private final Map<String, Long> shape;
+
+        private Published(int generation, long inserts, long removeMins, long measured, long totalNanos, long maxNanos, long since, Map<String, Long> shape) {
+            this.generation = generation;
+            this.inserts = inserts;
+            this.removeMins = removeMins;
+            this.measured = measured;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.since = since;
+            this.shape = shape;
+        }
+
+        /**
+         * De tellers sinds een reset die de thread die de hoop gebruikt nog niet uitgevoerd heeft.
+         * Het maximum kunnen we niet aftrekken: zonder nieuwe metingen is het 0, anders het maximum over beide perioden.
+         * @param base De publicatie op het moment van de reset.
+         * @param since Het tijdstip van de reset.
+         * @return De tellers sinds de reset.
+         */
+        private Published minus(Published base, long since){
+            return new Published(generation, inserts - base.inserts, removeMins - base.removeMins, measured - base.measured,
+                    totalNanos - base.totalNanos, measured == base.measured ? 0 : maxNanos, since, shape);
+        }
+
+        /**
+         * We rekenen tot nu, zodat de snelheid van een hoop die stil ligt daalt.
+         * @param count Het aantal bewerkingen sinds de laatste reset.
+         * @return Het aantal bewerkingen per seconde.
+         */
+        private double rate(long count){
+            long elapsedNanos = System.nanoTime() - since;
+            return elapsedNanos <= 0 ? 0 : count * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * De MBean, die de laatste publicatie leest.
+     * Na een reset trekken we de publicatie van dat moment af, tot de thread die de hoop gebruikt zijn tellers zelf teruggezet heeft.
+     */
+    private class Stats implements HeapStatsMXBean {
+        private volatile Published published;
+        private volatile Published base;
+        private volatile long resetAt;
+        private volatile boolean resetRequested;
+
+        /**
+         * @return De tellers sinds de laatste reset.
+         */
+        private Published current(){
+            Published p = published;
+            Published b = base;
+            return b != null && b.generation == p.generation ? p.minus(b, resetAt) : p;
+        }
+
+        @Override
+        public String getHeapName() {
+            return heap.getName();
+        }
+
+        /**
+         * We lezen de grootte zonder synchronisatie van de onderliggende hoop, de waarde kan dus iets verouderd zijn.
+         * @return Het aantal elementen.
+         */
+        @Override
+        public int getSize() {
+            return heap.getSize();
+        }
+
+        @Override
+        public long getInserts() {
+            return current().inserts;
+        }
+
+        @Override
+        public long getRemoveMins() {
+            return current().removeMins;
+        }
+
+        @Override
+        public double getInsertRate() {
+            Published p = current();
+            return p.rate(p.inserts);
+        }
+
+        @Override
+        public double getRemoveMinRate() {
+            Published p = current();
+            return p.rate(p.removeMins);
+        }
+
+        @Override
+        public double getMeanRemoveMinNanos() {
+            Published p = current();
+            return p.measured == 0 ? 0 : (double) p.totalNanos / p.measured;
+        }
+
+        @Override
+        public long getSampledMaxRemoveMinNanos() {
+            return current().maxNanos;
+        }
+
+        @Override
+        public Map<String, Long> getShape() {
+            return published.shape;
+        }
+
+        /**
+         * Onthoud de huidige publicatie om af te trekken, en vraag de thread die de hoop gebruikt om zijn tellers terug te zetten.
+         */
+        @Override
+        public synchronized void reset() {
+            resetAt = System.nanoTime();
+            base = published;
+            resetRequested = true;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package heap.lazy;
+
+import heap.*;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Hoop met luie verwijdering rond een andere hoop.
+ * Het verwijderen van een element markeert het enkel als dood in O(1), het blijft in de onderliggende hoop zitten.
+ * findMin en removeMin verwijderen eerst de dode elementen die vooraan staan.
+ * Zodra het aandeel dode elementen groter wordt dan de drempel bouwen we de onderliggende hoop opnieuw op met enkel de levende elementen.
+ * Dit loont wanneer de meeste elementen verwijderd worden voor ze vooraan komen te staan (bv. timers die geannuleerd worden).
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public class LazyDeleteHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
+    public static final double DEFAULT_THRESHOLD = 0.5;
+
+    /**
+     * Onder dit aantal dode elementen bouwen we nooit opnieuw op.
+     */
+    private static final int MIN_DEAD = 16;
+
+    private final Supplier<? extends ExtendedHeap<Entry<T>>> factory;
+    private final double threshold;
+    private ExtendedHeap<Entry<T>> heap;
+
+    private int size;
+    private int dead;
+
+    /**
+     * @param factory Maakt een nieuwe, lege onderliggende hoop, bv. Heaps::newBinaryHeap.
+     */
+    public LazyDeleteHeap(Supplier<? extends ExtendedHeap<Entry<T>>> factory){
+        this(factory, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param factory Maakt een nieuwe, lege onderliggende hoop.
+     * @param threshold Het aandeel dode elementen (tussen 0 en 1) waarboven we de hoop opnieuw opbouwen.
+     */
+    public LazyDeleteHeap(Supplier<? extends ExtendedHeap<Entry<T>>> factory, double threshold){
+        if(threshold <= 0 || threshold > 1){
+            throw new IllegalArgumentException("Threshold " + threshold + " must be in (0, 1].");
+        }
+        this.factory = factory;
+        this.threshold = threshold;
+        this.heap = factory.get();
+        this.size = 0;
+        this.dead = 0;
+    }
+
+    /**
+     * Voeg het element toe aan de onderliggende hoop.
+     * @param value De waarde van het toe te voegen element.
+     * @return De referentie naar het toegevoegde element.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        Handle handle = new Handle(value);
+        add(new Entry<>(value, handle));
+        size++;
+        return handle;
+    }
+
+    private void add(Entry<T> entry){
+        entry.handle.entry = entry;
+        entry.ref = heap.insert(entry);
+    }
+
+    /**
+     * Verwijder eerst de dode elementen die vooraan staan, het minimum van de onderliggende hoop is dan levend.
+     * @return Het kleinste levende element.
+     * @throws EmptyHeapException Er zijn geen levende elementen.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        Entry<T> min = heap.findMin().value();
+        while (min.dead){
+            heap.removeMin();
+            dead--;
+            min = heap.findMin().value();
+        }
+        return min.handle;
+    }
+
+    /**
+     * @return De waarde van het kleinste levende element.
+     * @throws EmptyHeapException Er zijn geen levende elementen.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        findMin();
+        Entry<T> min = heap.removeMin();
+        min.dead = true;
+        size--;
+        return min.value;
+    }
+
+    /**
+     * Markeer een element als dood en bouw de hoop opnieuw op als er te veel dode elementen zijn.
+     * O(1) gearmortiseerd, plus de kost van het opnieuw opbouwen.
+     * @param entry Het te verwijderen element.
+     */
+    private void kill(Entry<T> entry){
+        entry.dead = true;
+        size--;
+        dead++;
+        if(dead >= MIN_DEAD && dead > threshold * (size + dead)){
+            purge();
+        }
+    }
+
+    /**
+     * Bouw de onderliggende hoop opnieuw op met enkel de levende elementen.
+     * De referenties naar de levende elementen blijven geldig.
+     * O(n) tot O(n log(n)), afhankelijk van de onderliggende hoop.
+     */
+    public void purge(){
+        ExtendedHeap<Entry<T>> old = heap;
+        heap = factory.get();
+        old.forEach(entry -> {
+            if(!entry.dead){
+                add(entry);
+            }
+        });
+        dead = 0;
+    }
+
+    /**
+     * @return Of de heap geen levende elementen bevat.
+     */
+    public boolean isEmpty(){
+        return size < 1;
+    }
+
+    /**
+     * @return Het aantal levende elementen.
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Het aantal dode elementen dat nog in de onderliggende hoop zit.
+     */
+    public int getDead() {
+        return dead;
+    }
+
+    @Override
+    public String getName() {
+        return "Lazy " + heap.getName();
+    }
+
+    /**
+     * Print de levende elementen in een human readable vorm.
+     */
+    @Override
+    public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * @return Een ongeordende Spliterator over de levende waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return heap.stream().filter(e -> !e.dead).map(e -> e.value).spliterator();
+    }
+
+    /**
+     * @return Een iterator over de levende waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return heap.orderedStream().filter(e -> !e.dead).map(e -> e.value).iterator();
+    }
+
+    /**
+     * We controleren de onderliggende hoop en of het aantal levende en dode elementen klopt.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        int live = 0;
+        int total = 0;
+        for (Entry<T> entry : heap) {
+            total++;
+            if(!entry.dead){
+                live++;
+            }
+        }
+        return heap.isValid() && live == size && total == size + dead;
+    }
+
+    /**
+     * Een waarde in de onderliggende hoop, samen met de referentie die de gebruiker kreeg.
+     * Bij een update maken we een nieuwe Entry, zodat de onderliggende hoop de oude en de nieuwe waarde kan vergelijken.
+     * @param <T> Het type van de waarde.
+     */
+    public static final class Entry<T extends Comparable<T>> implements Comparable<Entry<T>> {
+        private T value;
+        private final LazyDeleteHeap<T>.Handle handle;
+        private Element<Entry<T>> ref;
+        private boolean dead;
+
+        private Entry(T value, LazyDeleteHeap<T>.Handle handle){
+            this.value = value;
+            this.handle = handle;
+        }
+
+        @Override
+        public int compareTo(Entry<T> o) {
+            return value.compareTo(o.value);
+        }
+
+        @Override
+        public String toString() {
+            return dead ? "(" + value + ")" : value.toString();
+        }
+    }
+
+    /**
+     * De referentie die de gebruiker krijgt, die wijst naar de huidige Entry van het element.
+     */
+    private class Handle extends ComparableElement<T> {
+        private Entry<T> entry;
+
+        private Handle(T value) {
+            super(value);
+        }
+
+        /**
+         * Markeer het element als dood, het wordt later uit de onderliggende hoop gehaald.
+         */
+        @Override
+        public void remove() {
+            if(entry.dead){
+                throw new IllegalStateException("Element " + value + " was already removed.");
+            }
+            kill(entry);
+        }
+
+        /**
+         * Geef de onderliggende hoop een nieuwe Entry met de nieuwe waarde.
+         * @param value De nieuwe waarde.
+         */
+        @Override
+        public void update(T value) {
+            if(entry.dead){
+                throw new IllegalStateException("Element " + this.value + " was removed.");
+            }
+            this.value = value;
+            //Sommige hopen negeren een update met een gelijke waarde, dan passen we de Entry zelf aan
+            if(entry.value.compareTo(value) == 0){
+                entry.value = value;
+                return;
+            }
+            Entry<T> updated = new Entry<>(value, this);
+            updated.ref = entry.ref;
+            entry = updated;
+            updated.ref.update(updated);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package heap.leftist;
 
 import heap.*;
-
+import heap.helpers.OrderedIterator;
+import heap.helpers.ParallelBuild;
+import heap.helpers.TreeSpliterator;
+import heap.jfr.HeapOperationEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 /**
  * Leftist heap.
@@ -25,12 +37,27 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     }
 
     /**
-     * Merge 2 LeftistHeapNodes
+     * Merge 2 LeftistHeapNodes zonder recursie.
+     * Eerst lopen we langs de rechterpaden van beide bomen en hangen we telkens de kleinste top als rechterkind aan de vorige top.
+     * Nadien lopen we via de ouders terug naar boven, herberekenen we de npl en wisselen we de kinderen waar nodig.
+     * De diepte van de stack hangt zo niet af van de lengte van de rechterpaden.
      * @param h1 Eerste node die gemerged moet worden.
      * @param h2 Tweede node.
      * @return Het gemergede resultaat van beide nodes.
      */
     private LeftistHeapNode _merge(LeftistHeapNode h1, LeftistHeapNode h2) {
+        return _merge(h1, h2, null);
+    }
+
+    /**
+     * Zoals {@link #_merge(LeftistHeapNode, LeftistHeapNode)}, en tel het aantal toppen op het gemergede rechterpad voor {@link HeapOperationEvent}.
+     * We tellen in een lokale variabele en schrijven die enkel weg als de oproeper erom vraagt, zodat een merge zonder event geen gedeeld veld aanpast.
+     * @param h1 Eerste node die gemerged moet worden.
+     * @param h2 Tweede node.
+     * @param links Krijgt het aantal toppen op het gemergede rechterpad in links[0], of null om niet te tellen.
+     * @return Het gemergede resultaat van beide nodes.
+     */
+    private LeftistHeapNode _merge(LeftistHeapNode h1, LeftistHeapNode h2, int[] links) {
         //Niets om te mergen
         if (h1 == null) {
             return h2;
@@ -49,24 +76,37 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             max = h2;
         }
 
-        //Maak het rechterkind van de kleinste het gemergde resultaat van het rechterkind met het maximum
-        min.setRight(_merge(min.getRight(), max));
+        //Fase 1: merge de rechterpaden, min is telkens de laatste top op het gemergede pad
+        LeftistHeapNode top = min;
+        int steps = 1;
+        while (min.right != null) {
+            if (min.right.getValue().compareTo(max.getValue()) > 0) {
+                LeftistHeapNode tmp = min.right;
+                min.right = max;
+                max.parent = min;
+                max = tmp;
+            }
+            min = min.right;
+            steps++;
+        }
+        min.right = max;
+        max.parent = min;
+        if (links != null) {
+            links[0] = steps;
+        }
 
-        //Wissel de kinderen als er niet aan de NPL voorwaarde voldaan wordt
-        if (min.getLeft() == null) {
-            min.getRight().setParent(min);
-            min.setLeft(min.getRight());
-            min.setRight(null);
-        } else {
-            min.getLeft().setParent(min);
-            min.getRight().setParent(min);
-            if (min.getLeft().getNpl() < min.getRight().getNpl()) {
-                LeftistHeapNode tmp = min.getLeft();
-                min.setLeft(min.getRight());
-                min.setRight(tmp);
+        //Fase 2: herstel de npl en de leftist eigenschap van onder naar boven
+        for (LeftistHeapNode node = min; ; node = node.parent) {
+            if (node._getNpl(node.left) < node._getNpl(node.right)) {
+                LeftistHeapNode tmp = node.left;
+                node.left = node.right;
+                node.right = tmp;
+            }
+            node.npl = node.calcNpl();
+            if (node == top) {
+                return top;
             }
         }
-        return min;
     }
 
     /**
@@ -82,6 +122,22 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         merge(root, newNode);
     }
 
+    /**
+     * Voeg alle elementen van de andere hoop toe aan deze hoop door beide wortels te mergen, de andere hoop is nadien leeg.
+     * De referenties naar de elementen van de andere hoop zijn nadien niet meer geldig.
+     * O(log(n + m)) voor de merge, plus het overzetten van de referenties.
+     * @param other De hoop die we bij deze hoop voegen.
+     */
+    public void meld(LeftistHeap<T> other) {
+        if (other == this || other.isEmpty()) {
+            return;
+        }
+        stub.putAll(other.stub);
+        merge(other.root);
+        other.root = null;
+        other.stub.clear();
+    }
+
     /**
      * Maak een nieuwe node en merge deze met de huidige boom.
      * @param value De waarde van de nieuwe node.
@@ -89,16 +145,48 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
      */
     @Override
     public ComparableElement<T> insert(T value) {
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] links = event.isEnabled() ? new int[1] : null;
+        event.begin();
         LeftistHeapNode node = new LeftistHeapNode(value);
         stub.put(node.value, node);
-        merge(node);
+        root = _merge(root, node, links);
+        if (event.shouldCommit()) {
+            event.emit("insert", this, links[0]);
+        }
         return node.getValue();
     }
 
+    /**
+     * Voeg alle waarden in één keer toe: de nieuwe toppen worden paarsgewijs gemerged, dan de resultaten paarsgewijs, enzovoort (zie {@link ParallelBuild#reduce}).
+     * Het resultaat wordt op het einde met de wortel gemerged.
+     * O(n) voor de opbouw en O(log n) voor de laatste merge, tegenover O(n log n) voor n keer insert.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    @Override
+    public List<ComparableElement<T>> insertAll(Collection<T> values) {
+        List<LeftistHeapNode> nodes = new ArrayList<>(values.size());
+        List<ComparableElement<T>> elements = new ArrayList<>(values.size());
+        for (T value : values) {
+            LeftistHeapNode node = new LeftistHeapNode(value);
+            stub.put(node.value, node);
+            nodes.add(node);
+            elements.add(node.getValue());
+        }
+        merge(ParallelBuild.reduce(nodes, this::_merge, null));
+        return elements;
+    }
+
     public boolean isEmpty() {
         return root == null;
     }
 
+    @Override
+    public int getSize() {
+        return stub.size();
+    }
+
     /**
      * Zoek het minimum van de LeftistHeap, dit is altijd de wortel.
      * @return De referentie naar het Element.
@@ -120,6 +208,9 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     @Override
     public T removeMin() throws EmptyHeapException {
         ComparableElement<T> min =  findMin();
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] links = event.isEnabled() ? new int[1] : null;
+        event.begin();
         stub.remove(min);
 
         if(root.getLeft()!=null){
@@ -130,92 +221,104 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             root.getRight().parent = null;
         }
 
-        merge(root.getLeft(), root.getRight());
+        root = _merge(root.getLeft(), root.getRight(), links);
+        if (event.shouldCommit()) {
+            event.emit("removeMin", this, links[0]);
+        }
         return min.value();
     }
 
     /**
-     * Herstel de heap eigenschap door het element naar beneden te bewegen.
+     * Herstel de heap eigenschap na het vergroten van een element.
+     * We vervangen de top door de merge van zijn kinderen, en mergen de top zonder kinderen opnieuw met de wortel.
+     * O(log(n))
      * @param e Het te verplaatsen element.
      */
     private void moveDown(Element e){
         LeftistHeapNode node = stub.get(e);
-        //Geen kindren
-        if(node.getLeft()==null&&node.getRight()==null){
+        if(node.getLeft()==null && node.getRight()==null){
             return;
-        //Geen linkerkind, wissel met rechterkind als e groter is
-        } else if(node.getLeft()==null){
-            if(node.getRight().getValue().compareTo(e)>=0){
-                return;
-            }
-            swap(node.getRight(), node);
-            moveDown(e);
-        //Analoog voor linkerkind
-        } else if(node.getRight()==null){
-            if(node.getLeft().getValue().compareTo(e)>=0){
-                return;
-            }
-            swap(node.getLeft(), node);
-            moveDown(e);
-        //Wissel met de kleinste als e groter is dan die kleinste
-        } else {
-            LeftistHeapNode smallest = node.getRight().value.compareTo(node.getLeft().value) < 0 ? node.getRight() : node.getLeft();
-            if(smallest.value.compareTo(e)>=0){
-                return;
-            }
-            swap(smallest, node);
-            moveDown(e);
         }
+        detach(node);
+        node.left = null;
+        node.right = null;
+        node.npl = 0;
+        merge(node);
     }
 
     /**
-     * Herstel de heap eigenschap door het element naar boven te bewegen.
+     * Herstel de heap eigenschap na het verkleinen van een element.
+     * Als het element kleiner is dan zijn ouder knippen we de deelboom van het element los en mergen we die met de wortel.
+     * O(log(n))
      * @param e Het te verplaatsen element.
      */
     private void moveUp(Element e){
         LeftistHeapNode node = stub.get(e);
-
-        //Verplaats e naar boven tot het groter is dan zijn ouder, of het de wortel is.
-        while (node.getParent()!=null && node.getParent().value.compareTo(e) > 0){
-            swap(node.parent, node);
-            node = stub.get(e);
+        if(node.getParent()==null || node.getParent().value.compareTo(e) <= 0){
+            return;
         }
+        replace(node, null);
+        merge(node);
     }
 
     /**
-     * Verwijder het element uit de heap.
+     * Verwijder het element uit de heap door zijn top te vervangen door de merge van zijn kinderen.
+     * O(log(n))
      * @param e Het te verwijderen element.
      */
     private void remove(Element e){
-        LeftistHeapNode node = stub.get(e);
+        detach(stub.remove(e));
+    }
 
-        //Verplaats het element naar boven tot het de wortel is
-        while (node.getParent()!=null){
-            swap(node, node.getParent());
-            node = stub.get(e);
+    /**
+     * Haal de top uit de boom door hem te vervangen door de merge van zijn kinderen.
+     * @param node De los te maken top.
+     */
+    private void detach(LeftistHeapNode node){
+        if(node.getLeft()!=null){
+            node.getLeft().parent = null;
         }
-
-
-        //Verwijder de wortel
-        try {
-            removeMin();
-        } catch (EmptyHeapException e1) {
-            //surpress
+        if(node.getRight()!=null){
+            node.getRight().parent = null;
+        }
+        LeftistHeapNode children = _merge(node.getLeft(), node.getRight());
+        if(node.getParent()==null){
+            root = children;
+        } else {
+            replace(node, children);
         }
     }
 
     /**
-     * Wissel de 2 nodes en hun referenties.
-     * @param n1 Eerste node om te wisselen.
-     * @param n2 Tweede node om te wisselen.
+     * Vervang een top (niet de wortel) door een andere deelboom en herstel de npl op het pad naar de wortel.
+     * We stoppen zodra de npl van een top niet meer verandert, de voorouders merken de wijziging dan niet.
+     * @param node De te vervangen top, die nadien geen ouder meer heeft.
+     * @param replacement De nieuwe deelboom, of null.
      */
-    private void swap(LeftistHeapNode n1, LeftistHeapNode n2){
-        Element tmp = n1.value;
-        n1.setValue(n2.value);
-        n2.setValue(tmp);
+    private void replace(LeftistHeapNode node, LeftistHeapNode replacement){
+        LeftistHeapNode parent = node.getParent();
+        if(parent.left==node){
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+        if(replacement!=null){
+            replacement.parent = parent;
+        }
+        node.parent = null;
 
-        stub.put(n1.value, n1);
-        stub.put(n2.value, n2);
+        for (LeftistHeapNode current = parent; current != null; current = current.parent) {
+            if (current._getNpl(current.left) < current._getNpl(current.right)) {
+                LeftistHeapNode tmp = current.left;
+                current.left = current.right;
+                current.right = tmp;
+            }
+            int npl = current.calcNpl();
+            if (npl == current.npl) {
+                return;
+            }
+            current.npl = npl;
+        }
     }
 
     private boolean isSmaller(LeftistHeapNode check, LeftistHeapNode compare){
@@ -236,24 +339,69 @@ public class LeftistHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         if(node==null){
             return true;
         }
-        return node._getNpl(node.getLeft()) >= node._getNpl(node.getRight()) && leftistCheck(node.getLeft()) && leftistCheck(node.getRight());
+        return node._getNpl(node.getLeft()) >= node._getNpl(node.getRight()) && node.getNpl() == node.calcNpl()
+                && (node.getLeft() == null || node.getLeft().getParent() == node) && (node.getRight() == null || node.getRight().getParent() == node)
+                && leftistCheck(node.getLeft()) && leftistCheck(node.getRight());
     }
 
     /**
-     * @return Of de boom voldoet aan heap eigenschap en de leftistheap eigenschap.
+     * @return Of de boom voldoet aan heap eigenschap en de leftistheap eigenschap, en of de npl en de ouders kloppen.
      */
     @Override
     public boolean isValid() {
         return heapCheck(root) && leftistCheck(root);
     }
 
+    /**
+     * De npl van de wortel is de lengte van het rechterpad, wat de kost van een merge bepaalt.
+     * O(1)
+     * @return De npl van de wortel.
+     */
+    @Override
+    public Map<String, Long> getShape() {
+        return Collections.singletonMap("rootNpl", root == null ? 0L : root.npl);
+    }
+
     @Override
     public String getName() {
         return "Leftist Heap";
     }
 
+    /**
+     * Print de heap in een human readable vorm.
+     */
     @Override
     public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * We overlopen de boom via het linker- en rechterkind van elke top.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSpliterator<LeftistHeapNode, T>(root, Long.MAX_VALUE, LeftistHeapNode::getLeft, LeftistHeapNode::getRight, n -> n.getValue().value());
+    }
+
+    /**
+     * Elke top heeft hoogstens 2 kinderen, de k kleinste elementen kosten dus O(k log k).
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<LeftistHeapNode, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(root),
+                (a, b) -> a.getValue().compareTo(b.getValue()),
+                (n, add) -> {
+                    if(n.getLeft()!=null){
+                        add.accept(n.getLeft());
+                    }
+                    if(n.getRight()!=null){
+                        add.accept(n.getRight());
+                    }
+                },
+                n -> n.getValue().value());
     }
 
     private class Element extends ComparableElement<T> {
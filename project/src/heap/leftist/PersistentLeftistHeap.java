@@ -0,0 +1,201 @@
+package heap.leftist;
+
+import heap.EmptyHeapException;
+import heap.PersistentHeap;
+import heap.helpers.OrderedIterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Persistente leftist heap: elke versie is onveranderlijk.
+ * insert, removeMin en meld geven een nieuwe versie terug en laten de oude versie ongemoeid.
+ * Een merge kopieert enkel de toppen op de rechterpaden, alle andere toppen worden gedeeld met de vorige versie(s).
+ * Omdat de rechterpaden hoogstens log(n + 1) toppen lang zijn kost elke bewerking O(log n) tijd en geheugen in het slechtste geval, ook als een oude versie opnieuw gebruikt wordt.
+ * Er zijn geen ouderpointers en geen stub: een top kan in meerdere versies zitten en heeft dus geen unieke ouder.
+ * Alle velden zijn final, zodat versies zonder locks door meerdere threads gelezen kunnen worden.
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public final class PersistentLeftistHeap<T extends Comparable<T>> implements PersistentHeap<T, PersistentLeftistHeap<T>> {
+    private static final PersistentLeftistHeap<?> EMPTY = new PersistentLeftistHeap<>(null, 0);
+
+    private final Node<T> root;
+    private final int size;
+
+    private PersistentLeftistHeap(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @param <T> Het type van de waarden.
+     * @return De lege hoop.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<T>> PersistentLeftistHeap<T> empty() {
+        return (PersistentLeftistHeap<T>) EMPTY;
+    }
+
+    /**
+     * Merge met een hoop die enkel de nieuwe waarde bevat.
+     * O(log n)
+     * @param value De toe te voegen waarde.
+     * @return De nieuwe versie.
+     */
+    @Override
+    public PersistentLeftistHeap<T> insert(T value) {
+        return new PersistentLeftistHeap<>(merge(root, new Node<>(value, null, null)), size + 1);
+    }
+
+    /**
+     * @return De kleinste waarde, dit is altijd de wortel.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public T findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        return root.value;
+    }
+
+    /**
+     * Merge de twee kinderen van de wortel.
+     * O(log n)
+     * @return De nieuwe versie zonder de kleinste waarde.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public PersistentLeftistHeap<T> removeMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        return new PersistentLeftistHeap<>(merge(root.left, root.right), size - 1);
+    }
+
+    /**
+     * Voeg twee versies samen, beide blijven bruikbaar.
+     * O(log n + log m)
+     * @param other De andere hoop.
+     * @return De nieuwe versie met de waarden van beide hopen.
+     */
+    @Override
+    public PersistentLeftistHeap<T> meld(PersistentLeftistHeap<T> other) {
+        return new PersistentLeftistHeap<>(merge(root, other.root), size + other.size);
+    }
+
+    /**
+     * Merge zonder recursie en zonder bestaande toppen aan te passen.
+     * We lopen eerst langs de rechterpaden en onthouden telkens de kleinste top. Nadien bouwen we van onder naar boven een kopie van die toppen,
+     * met het gemergede deel als rechterkind en de kinderen gewisseld waar de npl dat vraagt.
+     * @param h1 De eerste wortel.
+     * @param h2 De tweede wortel.
+     * @param <T> Het type van de waarden.
+     * @return De nieuwe wortel.
+     */
+    private static <T extends Comparable<T>> Node<T> merge(Node<T> h1, Node<T> h2) {
+        List<Node<T>> path = new ArrayList<>();
+        while (h1 != null && h2 != null){
+            if(h1.value.compareTo(h2.value) > 0){
+                Node<T> tmp = h1;
+                h1 = h2;
+                h2 = tmp;
+            }
+            path.add(h1);
+            h1 = h1.right;
+        }
+        Node<T> merged = h1 == null ? h2 : h1;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node<T> top = path.get(i);
+            if(npl(top.left) < npl(merged)){
+                merged = new Node<>(top.value, merged, top.left);
+            } else {
+                merged = new Node<>(top.value, top.left, merged);
+            }
+        }
+        return merged;
+    }
+
+    private static int npl(Node<?> node) {
+        return node == null ? 0 : node.npl;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size < 1;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * De kinderen van een top zijn minstens gelijk aan die top, we starten met de wortel in de grens.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new OrderedIterator<Node<T>, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(root),
+                (a, b) -> a.value.compareTo(b.value),
+                (node, add) -> {
+                    if(node.left != null){
+                        add.accept(node.left);
+                    }
+                    if(node.right != null){
+                        add.accept(node.right);
+                    }
+                },
+                node -> node.value);
+    }
+
+    /**
+     * We controleren de heap eigenschap, de npl van elke top, de leftist eigenschap en het aantal toppen.
+     * De gedeelde toppen worden daarbij voor elke versie opnieuw bezocht.
+     * @return Of de hoop aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        return count(root) == size;
+    }
+
+    /**
+     * @param node De wortel van een deelboom.
+     * @return Het aantal toppen van de deelboom, of -1 als de deelboom niet geldig is.
+     */
+    private int count(Node<T> node) {
+        if(node == null){
+            return 0;
+        }
+        if((node.left != null && node.left.value.compareTo(node.value) < 0) || (node.right != null && node.right.value.compareTo(node.value) < 0)){
+            return -1;
+        }
+        if(npl(node.left) < npl(node.right) || node.npl != npl(node.right) + 1){
+            return -1;
+        }
+        int left = count(node.left);
+        int right = count(node.right);
+        return left < 0 || right < 0 ? -1 : left + right + 1;
+    }
+
+    /**
+     * Een onveranderlijke top. De npl wordt bij het aanmaken berekend.
+     * @param <T> Het type van de waarde.
+     */
+    private static final class Node<T> {
+        private final T value;
+        private final Node<T> left;
+        private final Node<T> right;
+        private final int npl;
+
+        private Node(T value, Node<T> left, Node<T> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.npl = npl(right) + 1;
+        }
+    }
+}
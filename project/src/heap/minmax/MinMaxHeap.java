@@ -0,0 +1,451 @@
+package heap.minmax;
+
+import heap.*;
+import heap.helpers.IndexSpliterator;
+import heap.helpers.OrderedIterator;
+import heap.jfr.HeapOperationEvent;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+/**
+ * Min-max hoop die als array geïmplementeerd wordt, net zoals de binaire hoop beginnen we vanaf 1 te tellen.
+ * De niveaus wisselen elkaar af: op een even niveau (de wortel zit op niveau 0) is elke top maximaal gelijk aan al zijn afstammelingen,
+ * op een oneven niveau minstens gelijk aan al zijn afstammelingen.
+ * Het minimum is dus de wortel, het maximum één van de kinderen van de wortel.
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public class MinMaxHeap<T extends Comparable<T>> implements ExtendedHeap<T>, DoubleEndedHeap<T> {
+
+    private int size;
+    private Element[] heap;
+
+    /**
+     * We negeren hier de compilerwaarschuwing die gegenereerd wordt omdat door type Erasure het type van de elementen binnen het array niet vastgesteld kan worden.
+     * Door Array.newInstance() op te roepen weten we dat het array van het correcte type gemaakt wordt.
+     */
+    @SuppressWarnings("reflect")
+    public MinMaxHeap(){
+        //noinspection unchecked
+        this.heap = (Element[]) Array.newInstance(Element.class, 5);
+        this.size = 0;
+    }
+
+    /**
+     * We voegen een element toe onderaan de boom en bewegen het naar boven langs de min- of de max-niveaus.
+     * O(log(n))
+     * @param value Het element dat we willen toevoegen.
+     * @return De referentie naar het element dat we toegevoegd hebben.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element newVal = new Element(value, ++size);
+        ensureCapacity(size);
+        heap[size] = newVal;
+        int swaps = fix(size);
+        if(event.shouldCommit()){
+            event.emit("insert", this, swaps);
+        }
+
+        return newVal;
+    }
+
+    /**
+     * Voeg alle waarden in één keer toe en bouw de hoop opnieuw op van onder naar boven.
+     * O(n + m), goedkoper dan m keer insert als er veel waarden tegelijk toegevoegd worden.
+     * Bij minder nieuwe dan bestaande waarden voegen we ze één voor één toe.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    @Override
+    public List<ComparableElement<T>> insertAll(Collection<T> values) {
+        List<ComparableElement<T>> elements = new ArrayList<>(values.size());
+        if(values.size() < size){
+            for (T value : values) {
+                elements.add(insert(value));
+            }
+            return elements;
+        }
+        ensureCapacity(size + values.size());
+        for (T value : values) {
+            Element newVal = new Element(value, ++size);
+            heap[size] = newVal;
+            elements.add(newVal);
+        }
+
+        for (int i = parent(size); i > 0; i--) {
+            trickleDown(i, isMinLevel(i));
+        }
+        return elements;
+    }
+
+    /**
+     * Vergroot het array indien nodig zodat index capacity erin past.
+     * @param capacity De grootste index die gebruikt zal worden.
+     */
+    private void ensureCapacity(int capacity){
+        if(capacity>=heap.length-1){
+            heap = Arrays.copyOf(heap, Math.max(heap.length * 2, capacity + 2));
+        }
+    }
+
+    /**
+     * Het kleinste element is altijd de wortel.
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+
+        return heap[1];
+    }
+
+    /**
+     * Het grootste element is de wortel als die geen kinderen heeft, anders het grootste kind van de wortel.
+     * @return Het grootste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMax() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+
+        return heap[maxIndex()];
+    }
+
+    /**
+     * @return De index van het grootste element.
+     */
+    private int maxIndex(){
+        if(size==1){
+            return 1;
+        }
+        if(size==2 || heap[2].compareTo(heap[3])>=0){
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * We verwijderen het kleinste element en vullen het gat met het laatste blad.
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element ret = (Element) findMin();
+        int swaps = removeAt(1);
+        if(event.shouldCommit()){
+            event.emit("removeMin", this, swaps);
+        }
+        return ret.value();
+    }
+
+    /**
+     * We verwijderen het grootste element en vullen het gat met het laatste blad.
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMax() throws EmptyHeapException {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element ret = (Element) findMax();
+        int swaps = removeAt(ret.index);
+        if(event.shouldCommit()){
+            event.emit("removeMax", this, swaps);
+        }
+        return ret.value();
+    }
+
+    /**
+     * Verwijder het element op de gegeven index door het laatste blad op zijn plaats te zetten en dat blad te herstellen.
+     * O(log(n))
+     * @param i De index van het te verwijderen element.
+     * @return Het aantal wissels om de hoop te herstellen.
+     */
+    private int removeAt(int i){
+        heap[i] = heap[size];
+        heap[i].setIndex(i);
+        heap[size--] = null;
+        if(i<=size){
+            return fix(i);
+        }
+        return 0;
+    }
+
+    /**
+     * Het niveau van een index is de positie van zijn hoogste bit, de wortel (index 1) zit op niveau 0.
+     * @param index De index van de top.
+     * @return Of de top op een min-niveau zit.
+     */
+    private boolean isMinLevel(int index){
+        return ((Integer.SIZE - 1 - Integer.numberOfLeadingZeros(index)) & 1) == 0;
+    }
+
+    private int parent(int index){
+        return index / 2;
+    }
+
+    private int left(int index){
+        return index * 2;
+    }
+
+    /**
+     * Vergelijk twee elementen volgens de orde van het niveau.
+     * @param a Index van het eerste element.
+     * @param b Index van het tweede element.
+     * @param min Of we de orde van een min-niveau gebruiken.
+     * @return Of het eerste element strikt voor het tweede komt (kleiner op een min-niveau, groter op een max-niveau).
+     */
+    private boolean before(int a, int b, boolean min){
+        int cmp = heap[a].compareTo(heap[b]);
+        return min ? cmp < 0 : cmp > 0;
+    }
+
+    /**
+     * Herstel de hoop nadat het element op index i een willekeurige nieuwe waarde gekregen heeft.
+     * Als het element niet meer bij zijn ouder past wisselen we het met die ouder, het element gaat dan verder naar boven langs de niveaus van de ouder
+     * en de ouder gaat naar beneden. Anders gaat het element naar boven langs de grootouders, of naar beneden.
+     * O(log(n))
+     * @param i Index van het aangepaste element.
+     * @return Het aantal wissels, voor {@link HeapOperationEvent}.
+     */
+    private int fix(int i){
+        boolean min = isMinLevel(i);
+        int parent = parent(i);
+        if(parent > 0 && before(parent, i, min)){
+            swap(i, parent);
+            return 1 + pushUp(parent, !min) + trickleDown(i, min);
+        } else if(parent(parent) > 0 && before(i, parent(parent), min)){
+            return pushUp(i, min);
+        } else {
+            return trickleDown(i, min);
+        }
+    }
+
+    /**
+     * Beweeg het element naar boven langs de grootouders, die op hetzelfde soort niveau zitten.
+     * @param i Index van het te verplaatsen element.
+     * @param min Of het element op een min-niveau zit.
+     * @return Het aantal wissels.
+     */
+    private int pushUp(int i, boolean min){
+        int swaps = 0;
+        int grandparent = parent(parent(i));
+        while (grandparent > 0 && before(i, grandparent, min)){
+            swap(i, grandparent);
+            swaps++;
+            i = grandparent;
+            grandparent = parent(parent(i));
+        }
+        return swaps;
+    }
+
+    /**
+     * Beweeg het element naar beneden. We zoeken telkens het kleinste (of grootste) element onder de kinderen en kleinkinderen.
+     * Is dat een kleinkind, dan wisselen we en kijken we of het element nog bij zijn nieuwe ouder past.
+     * @param i Index van het te verplaatsen element.
+     * @param min Of het element op een min-niveau zit.
+     * @return Het aantal wissels.
+     */
+    private int trickleDown(int i, boolean min){
+        int swaps = 0;
+        while (left(i) <= size){
+            int m = left(i);
+            if(m + 1 <= size && before(m + 1, m, min)){
+                m = m + 1;
+            }
+            int last = Math.min(left(left(i)) + 3, size);
+            for (int c = left(left(i)); c <= last; c++) {
+                if(before(c, m, min)){
+                    m = c;
+                }
+            }
+
+            if(!before(m, i, min)){
+                return swaps;
+            }
+            swap(i, m);
+            swaps++;
+            if(m < left(left(i))){
+                return swaps;
+            }
+            if(before(parent(m), m, min)){
+                swap(m, parent(m));
+                swaps++;
+            }
+            i = m;
+        }
+        return swaps;
+    }
+
+    /**
+     * Hulpmethode voor het omwisselen van 2 elementen en het fixen van de referenties naar het Element.
+     * @param pos1 De index van het eerste te wisselen element.
+     * @param pos2 De index van het tweede te wisselen element.
+     */
+    private void swap(int pos1, int pos2){
+        Element tmp = heap[pos1];
+
+        heap[pos1] = heap[pos2];
+        heap[pos1].setIndex(pos1);
+
+        heap[pos2] = tmp;
+        tmp.setIndex(pos2);
+    }
+
+    /**
+     * Print de heap in een human readable vorm.
+     */
+    @Override
+    public void printHeap(){
+        String out = Arrays.stream(heap).filter(Objects::nonNull).map(i->i.value().toString()).collect(Collectors.joining(", "));
+        System.out.println(out);
+    }
+
+    /**
+     * We overlopen de posities 1 tot en met size van het array.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexSpliterator<>(1, size + 1, i -> heap[i].value());
+    }
+
+    /**
+     * Een top op een min-niveau is maximaal gelijk aan al zijn afstammelingen. Na zo'n top komen zijn kinderen en kleinkinderen in de grens.
+     * Een top op een max-niveau voegt niets toe: zijn kinderen zitten al in de grens als kleinkinderen van zijn ouder.
+     * De k kleinste elementen kosten O(k log k).
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<Integer, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(1),
+                (a, b) -> heap[a].compareTo(heap[b]),
+                (i, add) -> {
+                    if(!isMinLevel(i)){
+                        return;
+                    }
+                    for (int c = left(i); c <= Math.min(left(i) + 1, size); c++) {
+                        add.accept(c);
+                    }
+                    for (int c = left(left(i)); c <= Math.min(left(left(i)) + 3, size); c++) {
+                        add.accept(c);
+                    }
+                },
+                i -> heap[i].value());
+    }
+
+    /**
+     * @return Een human readable naam van de hoop.
+     */
+    @Override
+    public String getName() {
+        return "Min-Max Heap";
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size<1;
+    }
+
+    /**
+     * We controleren of elke top voor zijn kinderen en kleinkinderen komt volgens de orde van zijn niveau, en of de indices kloppen.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid(){
+        for (int i = 1; i <= size; i++) {
+            if(heap[i].getIndex()!=i){
+                return false;
+            }
+            boolean min = isMinLevel(i);
+            int last = Math.min(left(i) + 1, size);
+            for (int c = left(i); c <= last; c++) {
+                if(before(c, i, min)){
+                    return false;
+                }
+            }
+            last = Math.min(left(left(i)) + 3, size);
+            for (int c = left(left(i)); c <= last; c++) {
+                if(before(c, i, min)){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement.
+     * We houden telkens zijn locatie binnen het array bij zodat we aanpassingen eenvoudig kunnen doorvoeren.
+     */
+    private class Element extends ComparableElement<T>{
+        private int index;
+        private Element(T value, int index){
+            super(value);
+            this.index = index;
+        }
+
+        /**
+         * Zet het laatste blad op de plaats van dit element en herstel de hoop vanaf daar.
+         */
+        @Override
+        public void remove() {
+            HeapOperationEvent event = new HeapOperationEvent();
+            event.begin();
+            int swaps = removeAt(index);
+            if(event.shouldCommit()){
+                event.emit("remove", MinMaxHeap.this, swaps);
+            }
+        }
+
+        /**
+         * Pas de waarde aan en herstel de hoop, het element kan zowel naar boven als naar beneden bewegen.
+         * @param value de nieuwe waarde voor het element.
+         */
+        @Override
+        public void update(T value) {
+            HeapOperationEvent event = new HeapOperationEvent();
+            event.begin();
+            this.value = value;
+            int swaps = fix(index);
+            if(event.shouldCommit()){
+                event.emit("update", MinMaxHeap.this, swaps);
+            }
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package heap.pairing;
+
+import heap.Element;
+import heap.EmptyHeapException;
+import heap.Heap;
+
+import java.util.Arrays;
+
+/**
+ * Pairing heap met long sleutels waarvan de toppen in parallelle arrays (een arena) zitten in plaats van in objecten.
+ * Een top is een index in de arrays child, sibling, prev en keys, en die index is ook de referentie die insert teruggeeft.
+ * prev wijst naar de ouder voor het eerste kind en naar de linkerbroer voor de andere kinderen, zodat een top in O(1) losgeknipt kan worden.
+ * Vrijgekomen toppen komen op een vrije lijst (via sibling) en worden hergebruikt, een referentie is dus enkel geldig zolang de top in de hoop zit.
+ * Per top kost dit 3 ints en een long (20 bytes), plus de vrije ruimte na het verdubbelen van de arrays.
+ * Gemeten met {@link heap.helpers.Measurement} (1M willekeurige sleutels): de arena houdt 21 bytes per element vast en alloceert er 42 tijdens het opbouwen door het kopiëren bij het groeien,
+ * bij 1,5M is dat 28 bytes vast. Een top van PairingHeap is 32 bytes, plus 16 bytes voor de Integer als de gebruiker die niet zelf al bijhoudt.
+ * Dat is 1,1 tot 1,5 keer minder zonder en 1,7 tot 2,3 keer minder met de Integer: de winst zit vooral in het wegvallen van de objecten en hun pointers.
+ * Via {@link #asHeap()} kost elke insert een extra referentie-object, de benchmark meet dan 74 bytes per insert tegenover 32 voor PairingHeap.
+ */
+public class ArenaPairingHeap {
+    private static final int NIL = -1;
+
+    /**
+     * Markering in prev voor een top die op de vrije lijst staat.
+     */
+    private static final int FREE = -2;
+
+    private int[] child;
+    private int[] sibling;
+    private int[] prev;
+    private long[] keys;
+
+    private int root;
+    private int size;
+
+    /**
+     * Het aantal toppen dat ooit gebruikt is, en het begin van de vrije lijst.
+     */
+    private int used;
+    private int free;
+
+    public ArenaPairingHeap(){
+        this(16);
+    }
+
+    /**
+     * @param capacity Het verwachte aantal elementen.
+     */
+    public ArenaPairingHeap(int capacity){
+        capacity = Math.max(capacity, 1);
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.prev = new int[capacity];
+        this.keys = new long[capacity];
+        this.root = NIL;
+        this.size = 0;
+        this.used = 0;
+        this.free = NIL;
+    }
+
+    /**
+     * Neem een top van de vrije lijst, of een nieuwe top achteraan de arena.
+     * @return De index van de top.
+     */
+    private int allocate(){
+        int node;
+        if(free != NIL){
+            node = free;
+            free = sibling[node];
+        } else {
+            if(used == keys.length){
+                int capacity = keys.length * 2;
+                child = Arrays.copyOf(child, capacity);
+                sibling = Arrays.copyOf(sibling, capacity);
+                prev = Arrays.copyOf(prev, capacity);
+                keys = Arrays.copyOf(keys, capacity);
+            }
+            node = used++;
+        }
+        child[node] = NIL;
+        sibling[node] = NIL;
+        prev[node] = NIL;
+        return node;
+    }
+
+    /**
+     * Zet een top op de vrije lijst.
+     * @param node De index van de top.
+     */
+    private void release(int node){
+        sibling[node] = free;
+        prev[node] = FREE;
+        child[node] = NIL;
+        free = node;
+    }
+
+    /**
+     * Maak een nieuwe top met de gegeven sleutel en merge deze met de wortel.
+     * O(1)
+     * @param key De sleutel.
+     * @return De referentie (index) van de nieuwe top.
+     */
+    public int insert(long key){
+        int node = allocate();
+        keys[node] = key;
+        root = link(root, node);
+        size++;
+        return node;
+    }
+
+    /**
+     * @return De referentie naar de top met de kleinste sleutel.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    public int findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        return root;
+    }
+
+    /**
+     * Verwijder de wortel en merge zijn kinderen met de two-pass pairing.
+     * O(log n) gearmortiseerd.
+     * @return De kleinste sleutel.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    public long removeMin() throws EmptyHeapException {
+        int min = findMin();
+        long key = keys[min];
+        root = combine(child[min]);
+        release(min);
+        size--;
+        return key;
+    }
+
+    /**
+     * @param node Een referentie naar een top in de hoop.
+     * @return De sleutel van de top.
+     */
+    public long key(int node){
+        check(node);
+        return keys[node];
+    }
+
+    /**
+     * @param node Een referentie.
+     * @return Of de referentie naar een top in de hoop wijst.
+     */
+    public boolean contains(int node){
+        return node >= 0 && node < used && prev[node] != FREE;
+    }
+
+    /**
+     * Geef een top een nieuwe sleutel.
+     * Een kleinere sleutel knipt de top (met zijn kinderen) los en merget hem met de wortel.
+     * Een grotere sleutel merget eerst de kinderen van de top, en merget dan de top zonder kinderen opnieuw.
+     * @param node Een referentie naar een top in de hoop.
+     * @param key De nieuwe sleutel.
+     */
+    public void update(int node, long key){
+        check(node);
+        if(key < keys[node]){
+            keys[node] = key;
+            if(node != root){
+                cut(node);
+                root = link(root, node);
+            }
+        } else if(key > keys[node]){
+            keys[node] = key;
+            int children = combine(child[node]);
+            child[node] = NIL;
+            if(node == root){
+                root = link(children, node);
+            } else {
+                cut(node);
+                root = link(link(root, children), node);
+            }
+        }
+    }
+
+    /**
+     * Verlaag de sleutel van een top.
+     * @param node Een referentie naar een top in de hoop.
+     * @param key De nieuwe sleutel, die niet groter mag zijn dan de huidige.
+     */
+    public void decreaseKey(int node, long key){
+        check(node);
+        if(key > keys[node]){
+            throw new IllegalArgumentException("Key " + key + " is larger than the current key " + keys[node] + ".");
+        }
+        update(node, key);
+    }
+
+    /**
+     * Verwijder een willekeurige top: knip hem los, merge zijn kinderen en merge het resultaat met de wortel.
+     * @param node Een referentie naar een top in de hoop.
+     */
+    public void remove(int node){
+        check(node);
+        if(node == root){
+            root = combine(child[node]);
+        } else {
+            cut(node);
+            root = link(root, combine(child[node]));
+        }
+        release(node);
+        size--;
+    }
+
+    /**
+     * Maak de top met de grootste sleutel het eerste kind van de andere. Beide toppen mogen geen broers hebben.
+     * @param a De eerste top, of NIL.
+     * @param b De tweede top, of NIL.
+     * @return De top met de kleinste sleutel.
+     */
+    private int link(int a, int b){
+        if(a == NIL){
+            return b;
+        }
+        if(b == NIL){
+            return a;
+        }
+        if(keys[b] < keys[a]){
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        sibling[b] = child[a];
+        if(child[a] != NIL){
+            prev[child[a]] = b;
+        }
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    /**
+     * Knip een top die niet de wortel is los uit de lijst van kinderen van zijn ouder.
+     * @param node De top.
+     */
+    private void cut(int node){
+        int p = prev[node];
+        if(child[p] == node){
+            child[p] = sibling[node];
+        } else {
+            sibling[p] = sibling[node];
+        }
+        if(sibling[node] != NIL){
+            prev[sibling[node]] = p;
+        }
+        sibling[node] = NIL;
+        prev[node] = NIL;
+    }
+
+    /**
+     * Two-pass pairing zonder extra geheugen: we mergen de kinderen paarsgewijs van links naar rechts en houden de resultaten bij
+     * in een stapel die via sibling gelinkt is. Nadien mergen we de stapel van rechts naar links tot één boom.
+     * @param first Het eerste kind, of NIL.
+     * @return De wortel van de gemergede boom, of NIL.
+     */
+    private int combine(int first){
+        int stack = NIL;
+        int a = first;
+        while (a != NIL){
+            int b = sibling[a];
+            int next = b == NIL ? NIL : sibling[b];
+            sibling[a] = NIL;
+            prev[a] = NIL;
+            if(b != NIL){
+                sibling[b] = NIL;
+                prev[b] = NIL;
+                a = link(a, b);
+            }
+            sibling[a] = stack;
+            stack = a;
+            a = next;
+        }
+
+        int result = NIL;
+        while (stack != NIL){
+            int next = sibling[stack];
+            sibling[stack] = NIL;
+            result = link(result, stack);
+            stack = next;
+        }
+        if(result != NIL){
+            prev[result] = NIL;
+        }
+        return result;
+    }
+
+    private void check(int node){
+        if(!contains(node)){
+            throw new IllegalArgumentException("Node " + node + " is not in the heap.");
+        }
+    }
+
+    public int getSize(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return root == NIL;
+    }
+
+    /**
+     * Kijk of elke top minstens gelijk is aan zijn ouder en of de prev-referenties kloppen. We overlopen de boom met een expliciete stapel.
+     * @return true als de heap een geldige pairing heap is.
+     */
+    public boolean isValid(){
+        if(root == NIL){
+            return size == 0;
+        }
+        if(prev[root] != NIL || sibling[root] != NIL){
+            return false;
+        }
+        int count = 0;
+        int[] stack = new int[Math.max(size, 1)];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0){
+            int node = stack[--top];
+            count++;
+            int expectedPrev = node;
+            for (int c = child[node]; c != NIL; c = sibling[c]) {
+                if(keys[c] < keys[node] || prev[c] != expectedPrev || top >= stack.length){
+                    return false;
+                }
+                stack[top++] = c;
+                expectedPrev = c;
+            }
+        }
+        return count == size;
+    }
+
+    /**
+     * Een view als Heap van Integers, zodat de benchmarks de arena kunnen gebruiken.
+     * Elke insert maakt wel een referentie-object aan, de arena zelf gebruiken blijft dus zuiniger.
+     * Gebruik de arena niet rechtstreeks naast de view.
+     * @return De view op deze hoop.
+     */
+    public Heap<Integer> asHeap(){
+        return new View();
+    }
+
+    /**
+     * Houdt per top de referentie bij die de gebruiker kreeg, zodat een hergebruikte top een oude referentie niet opnieuw geldig maakt.
+     */
+    private class View implements Heap<Integer> {
+        private Handle[] handles = new Handle[keys.length];
+
+        @Override
+        public Element<Integer> insert(Integer value) {
+            int node = ArenaPairingHeap.this.insert(value);
+            if(node >= handles.length){
+                handles = Arrays.copyOf(handles, keys.length);
+            }
+            return handles[node] = new Handle(node);
+        }
+
+        @Override
+        public Element<Integer> findMin() throws EmptyHeapException {
+            return handles[ArenaPairingHeap.this.findMin()];
+        }
+
+        @Override
+        public Integer removeMin() throws EmptyHeapException {
+            handles[ArenaPairingHeap.this.findMin()] = null;
+            return (int) ArenaPairingHeap.this.removeMin();
+        }
+
+        private class Handle implements Element<Integer> {
+            private final int node;
+
+            private Handle(int node){
+                this.node = node;
+            }
+
+            private void check(){
+                if(!contains(node) || handles[node] != this){
+                    throw new IllegalStateException("Element " + node + " was removed.");
+                }
+            }
+
+            @Override
+            public Integer value() {
+                check();
+                return (int) keys[node];
+            }
+
+            @Override
+            public void remove() {
+                check();
+                ArenaPairingHeap.this.remove(node);
+                handles[node] = null;
+            }
+
+            @Override
+            public void update(Integer value) {
+                check();
+                ArenaPairingHeap.this.update(node, value);
+            }
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package heap.pairing;
 
 import heap.*;
+import heap.helpers.OrderedIterator;
+import heap.helpers.ParallelBuild;
+import heap.helpers.TreeSpliterator;
+import heap.jfr.HeapOperationEvent;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 /**
  * Pairing heap.
@@ -13,6 +25,7 @@ import java.util.Stack;
  */
 public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     private PairingHeapNode root;
+    private int size;
 
     /**
      * De merge bewerking is de centrale bewerking van de pairing heap, elke andere bewerking is gebaseerd op deze merge bewerking.
@@ -61,10 +74,40 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         PairingHeapNode e = new PairingHeapNode(value);
 
         root = merge(root, e);
+        size++;
 
         return e;
     }
 
+    /**
+     * Zoals {@link #insertAll(Collection, ForkJoinPool)}, sequentieel.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    @Override
+    public List<ComparableElement<T>> insertAll(Collection<T> values) {
+        return insertAll(values, null);
+    }
+
+    /**
+     * Voeg alle waarden in één keer toe: de nieuwe toppen worden paarsgewijs gelinkt, dan de resultaten paarsgewijs, enzovoort (zie {@link ParallelBuild#reduce}).
+     * De twee helften van elke stap worden in aparte taken gelinkt, het resultaat wordt op het einde met de wortel gemerged.
+     * Anders dan bij n keer insert krijgt de wortel zo maar log(n) kinderen, wat de eerste removeMin goedkoop houdt.
+     * O(n) werk, O(log n) diepte.
+     * @param values De toe te voegen waarden.
+     * @param pool De pool waarin de toppen gelinkt worden, of null om sequentieel te werken.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    public List<ComparableElement<T>> insertAll(Collection<T> values, ForkJoinPool pool) {
+        List<PairingHeapNode> nodes = new ArrayList<>(values.size());
+        for (T value : values) {
+            nodes.add(new PairingHeapNode(value));
+        }
+        root = merge(root, ParallelBuild.reduce(nodes, this::merge, pool));
+        size += nodes.size();
+        return new ArrayList<>(nodes);
+    }
+
     /**
      * Zoek het kleinste element van de pairing heap. Dit is altijd de wortel.
      * @return De waarde van de wortel van de pairing heap.
@@ -90,10 +133,17 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             throw new EmptyHeapException();
         }
 
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] paired = event.isEnabled() ? new int[1] : null;
+        event.begin();
         PairingHeapNode min = root;
 
         //Maak de pairing heap zonder de wortel de nieuwe wortel van deze heap
-        root = remove(root);
+        root = remove(root, paired);
+        size--;
+        if(event.shouldCommit()){
+            event.emit("removeMin", this, paired[0]);
+        }
 
         return min.value();
     }
@@ -103,9 +153,10 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
      * Doe dit door eerst de kinderen van de wortel in volgorde paarsgewijs te mergen. Nadien merge de overgebleven heaps in omgekeerde volgorde tot 1 heap.
      * O(log n) gearmortiseerd.
      * @param parent De te verwijderen wortel.
+     * @param paired Krijgt het aantal gepaarde kinderen in paired[0] voor {@link HeapOperationEvent}, of null om niet te tellen.
      * @return De nieuwe heap zonder de wortel.
      */
-    private PairingHeapNode remove(PairingHeapNode parent){
+    private PairingHeapNode remove(PairingHeapNode parent, int[] paired){
         //Bouw een lijst van alle kinderen
         PairingHeapNode root = parent;
         PairingHeapNode child = root.child;
@@ -117,6 +168,9 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             child = child.sibling;
             oldChild.sibling = null;
         }
+        if(paired != null){
+            paired[0] = children.size();
+        }
 
         //Merge de kinderen paarsgewijs in volgorde
         Stack<PairingHeapNode> firstMerge = new Stack<>();
@@ -146,18 +200,17 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     /**
      * Verwijder een top die niet de wortel is uit de pairing heap.
      * @param node de te verwijderen top.
+     * @param paired Krijgt het aantal gepaarde kinderen in paired[0], of null om niet te tellen.
      */
-    private void _remove(PairingHeapNode node){
+    private void _remove(PairingHeapNode node, int[] paired){
         if(node==root){
-            try {
-                removeMin();
-            } catch (EmptyHeapException e) {
-                //
-            }
+            root = remove(root, paired);
+            size--;
             return;
         }
 
-        root = merge(remove(node), root);
+        root = merge(remove(node, paired), root);
+        size--;
     }
 
     /**
@@ -188,12 +241,13 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
                 removeMin();
                 node.child = null;
                 root = merge(node, root);
+                size++;
             } catch (EmptyHeapException e) {
                 //
             }
             return;
         }
-        PairingHeapNode newNode = remove(node);
+        PairingHeapNode newNode = remove(node, null);
         node.child = null;
         node = merge(newNode, node);
         root = merge(node, root);
@@ -242,6 +296,25 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         return root == null;
     }
 
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Het aantal kinderen van de wortel bepaalt de kost van de volgende removeMin.
+     * O(kinderen van de wortel)
+     * @return Het aantal kinderen van de wortel.
+     */
+    @Override
+    public Map<String, Long> getShape() {
+        long children = 0;
+        for (PairingHeapNode child = root == null ? null : root.child; child != null; child = child.sibling) {
+            children++;
+        }
+        return Collections.singletonMap("rootChildren", children);
+    }
+
     /**
      * Kijk of er aan de min-heap eigenschap voldaan wordt.
      * @param node De wortel van de te checken pairing heap.
@@ -270,6 +343,41 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         return isMinHeap(root);
     }
 
+    /**
+     * Print de heap in een human readable vorm.
+     */
+    @Override
+    public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * We overlopen de boom via het eerste kind en de volgende broer van elke top.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSpliterator<PairingHeapNode, T>(root, Long.MAX_VALUE, n -> n.child, n -> n.sibling, PairingHeapNode::value);
+    }
+
+    /**
+     * Na een top komen al zijn kinderen als één groep in de grens, die groeit zo met hoogstens één groep per stap.
+     * De k kleinste elementen kosten O(k log(k d) + c) als elke top hoogstens d kinderen heeft en die k toppen samen c kinderen hebben.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<PairingHeapNode, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(root),
+                PairingHeapNode::compareTo,
+                (n, add) -> {
+                    for (PairingHeapNode child = n.child; child != null; child = child.sibling) {
+                        add.accept(child);
+                    }
+                },
+                PairingHeapNode::value);
+    }
+
     /**
      * Voorstelling van een element in de heap.
      */
@@ -287,7 +395,13 @@ public class PairingHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
          */
         @Override
         public void remove() {
-            _remove(this);
+            HeapOperationEvent event = new HeapOperationEvent();
+            int[] paired = event.isEnabled() ? new int[1] : null;
+            event.begin();
+            _remove(this, paired);
+            if(event.shouldCommit()){
+                event.emit("remove", PairingHeap.this, paired[0]);
+            }
         }
 
         /**
@@ -0,0 +1,289 @@
+package heap.radix;
+
+import heap.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+/**
+ * Radix heap voor gehele sleutels die monotoon verwijderd worden (bv. Dijkstra of timers).
+ * Elk element zit in de emmer die overeenkomt met de hoogste bit waarin zijn sleutel verschilt van het laatst verwijderde minimum.
+ * Toevoegen, aanpassen en verwijderen via een referentie gebeurt in O(1), removeMin in O(log C) gearmortiseerd (C is het bereik van de sleutels).
+ * Sleutels die kleiner zijn dan het laatst verwijderde minimum worden geweigerd.
+ * @param <T> Het type van de Heap, een geheel getal (Integer, Long, ...).
+ */
+public class RadixHeap<T extends Number & Comparable<T>> implements ExtendedHeap<T> {
+    /**
+     * Emmer 0 bevat de sleutels gelijk aan het laatste minimum, emmer i de sleutels die voor het eerst verschillen op bit i-1.
+     */
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private List<ArrayList<Element>> buckets;
+
+    /**
+     * Het laatst verwijderde minimum, als unsigned sleutel (zie {@link #key(Number)}).
+     */
+    private long last;
+    private int size;
+
+    /**
+     * Het gekende minimum, of null als dit opnieuw gezocht moet worden.
+     */
+    private Element min;
+
+    public RadixHeap(){
+        this.buckets = new ArrayList<>(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.last = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Zet de waarde om naar een sleutel die unsigned vergeleken kan worden, zodat ook negatieve waarden toegelaten zijn.
+     * @param value De waarde van het element.
+     * @return De sleutel van het element.
+     */
+    private static long key(Number value){
+        return value.longValue() ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Zoek de emmer van een sleutel: de positie van de hoogste bit waarin de sleutel verschilt van het laatste minimum.
+     * @param key De sleutel.
+     * @return De index van de emmer.
+     */
+    private int bucket(long key){
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    /**
+     * Weiger sleutels die kleiner zijn dan het laatst verwijderde minimum.
+     * @param key De te controleren sleutel.
+     * @param value De oorspronkelijke waarde.
+     */
+    private void checkKey(long key, T value){
+        if(Long.compareUnsigned(key, last) < 0){
+            throw new IllegalArgumentException("Value " + value + " is smaller than the last removed minimum.");
+        }
+    }
+
+    /**
+     * Maak een nieuw element aan en plaats het in zijn emmer.
+     * O(1)
+     * @param value De waarde van het toe te voegen element.
+     * @return De referentie naar het toegevoegde element.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        long key = key(value);
+        checkKey(key, value);
+
+        Element e = new Element(value, key);
+        add(e);
+        size++;
+
+        if(min!=null && Long.compareUnsigned(key, min.key) < 0){
+            min = e;
+        }
+        return e;
+    }
+
+    /**
+     * Zoek het kleinste element, dit bevindt zich altijd in de eerste niet-lege emmer.
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        if(min==null){
+            ArrayList<Element> bucket = buckets.get(firstBucket());
+            min = bucket.get(0);
+            for (Element e : bucket) {
+                if(Long.compareUnsigned(e.key, min.key) < 0){
+                    min = e;
+                }
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Verwijder het minimum en maak het de nieuwe ondergrens.
+     * De overige elementen uit de emmer van het minimum worden herverdeeld over de lagere emmers.
+     * Elk element kan zo hoogstens 64 keer verplaatst worden, dus dit is O(log C) gearmortiseerd.
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        Element ret = (Element) findMin();
+        int index = ret.bucket;
+
+        detach(ret);
+        size--;
+        min = null;
+
+        //Alle lagere emmers zijn leeg, de overige elementen van deze emmer komen in een lagere emmer terecht
+        if(index > 0){
+            last = ret.key;
+            ArrayList<Element> bucket = buckets.get(index);
+            while (!bucket.isEmpty()){
+                add(bucket.remove(bucket.size() - 1));
+            }
+        }
+
+        return ret.value();
+    }
+
+    /**
+     * @return De index van de eerste niet-lege emmer.
+     */
+    private int firstBucket(){
+        int i = 0;
+        while (buckets.get(i).isEmpty()){
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Plaats het element achteraan in de emmer die bij zijn sleutel hoort.
+     * @param e Het toe te voegen element.
+     */
+    private void add(Element e){
+        ArrayList<Element> bucket = buckets.get(bucket(e.key));
+        e.bucket = bucket(e.key);
+        e.index = bucket.size();
+        bucket.add(e);
+    }
+
+    /**
+     * Haal het element uit zijn emmer door het laatste element van die emmer op zijn plaats te zetten.
+     * O(1)
+     * @param e Het te verwijderen element.
+     */
+    private void detach(Element e){
+        ArrayList<Element> bucket = buckets.get(e.bucket);
+        Element moved = bucket.remove(bucket.size() - 1);
+        if(moved!=e){
+            bucket.set(e.index, moved);
+            moved.index = e.index;
+        }
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size<1;
+    }
+
+    /**
+     * Print de heap in een human readable vorm, emmer per emmer.
+     */
+    @Override
+    public void printHeap(){
+        for (int i = 0; i < BUCKETS; i++) {
+            if(!buckets.get(i).isEmpty()){
+                System.out.println(i + ": " + buckets.get(i).stream().map(Element::toString).collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    /**
+     * We overlopen de emmers na elkaar.
+     * @return Een ongeordende Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return buckets.stream().flatMap(ArrayList::stream).map(Element::value).spliterator();
+    }
+
+    /**
+     * We controleren of elk element in de juiste emmer staat en niet kleiner is dan het laatste minimum.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid() {
+        int count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            ArrayList<Element> bucket = buckets.get(i);
+            for (int j = 0; j < bucket.size(); j++) {
+                Element e = bucket.get(j);
+                if(e.bucket!=i || e.index!=j || bucket(e.key)!=i || Long.compareUnsigned(e.key, last) < 0){
+                    return false;
+                }
+            }
+            count += bucket.size();
+        }
+        return count==size;
+    }
+
+    /**
+     * @return Een human readable naam van de hoop.
+     */
+    @Override
+    public String getName() {
+        return "Radix Heap";
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement.
+     * We houden de emmer en de positie binnen die emmer bij zodat aanpassingen in O(1) gebeuren.
+     */
+    private class Element extends ComparableElement<T> {
+        private long key;
+        private int bucket;
+        private int index;
+
+        private Element(T value, long key){
+            super(value);
+            this.key = key;
+        }
+
+        /**
+         * Haal het element uit zijn emmer.
+         */
+        @Override
+        public void remove() {
+            detach(this);
+            size--;
+            if(min==this){
+                min = null;
+            }
+        }
+
+        /**
+         * Verplaats het element naar de emmer van de nieuwe waarde, dit kan zowel een grotere als een kleinere waarde zijn.
+         * @param value De nieuwe waarde, die niet kleiner mag zijn dan het laatst verwijderde minimum.
+         */
+        @Override
+        public void update(T value) {
+            long key = key(value);
+            checkKey(key, value);
+
+            detach(this);
+            this.value = value;
+            this.key = key;
+            add(this);
+
+            if(min==this){
+                min = null;
+            } else if(min!=null && Long.compareUnsigned(key, min.key) < 0){
+                min = this;
+            }
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package heap.sequence;
+
+import heap.Element;
+import heap.EmptyHeapException;
+import heap.Heap;
+import heap.binary.LongBinaryHeap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequence heap (Sanders) voor long sleutels, bedoeld voor zeer grote wachtlijnen.
+ * Nieuwe sleutels komen in een kleine invoeghoop ({@link LongBinaryHeap}). Als die vol is sorteren we hem tot een reeks en voegen we die reeks toe aan groep 0.
+ * Elke groep bevat hoogstens k gesorteerde reeksen. Een volle groep wordt via een k-way merge samengevoegd tot één reeks in de volgende groep,
+ * zodat de reeksen in groep i ongeveer m * k^i sleutels bevatten en elke sleutel O(log_k(n / m)) keer sequentieel gelezen en geschreven wordt.
+ * Elke groep houdt een toernooiboom over de koppen van zijn reeksen bij, die blijft bestaan tussen het aanvullen door en enkel aangepast wordt langs het pad van de reeks die verandert.
+ * De kleinste sleutels van alle reeksen staan in een gesorteerde verwijderbuffer, die aangevuld wordt uit de winnaars van de groepen.
+ * Alles gebeurt op aaneengesloten arrays: de invoeghoop en de verwijderbuffer passen in L1 (m), de boom van een groep in L2 (k).
+ * De sleutels zelf hebben geen locatie. Referenties via de {@link Heap} interface verwijderen lui: remove onthoudt de sleutel als verwijderd,
+ * en een verwijderde sleutel wordt pas overgeslagen als hij vooraan komt. Gelijke sleutels zijn niet te onderscheiden, een referentie staat dus voor één exemplaar van zijn sleutel.
+ * Zolang er geen referenties en geen verwijderde sleutels zijn kost dit add en pollLong enkel een test.
+ */
+public class SequenceHeap implements Heap<Long> {
+    /**
+     * 1024 longs (8 KB) voor de invoeghoop en de verwijderbuffer.
+     */
+    public static final int DEFAULT_BUFFER = 1024;
+    public static final int DEFAULT_ARITY = 64;
+
+    private final int buffer;
+    private final int arity;
+
+    private final LongBinaryHeap insertion;
+
+    /**
+     * Gesorteerde buffer, de sleutels van deletionFrom tot deletionTo zijn nog niet verwijderd.
+     */
+    private final long[] deletion;
+    private int deletionFrom;
+    private int deletionTo;
+
+    private final List<Group> groups;
+    /**
+     * Het aantal levende sleutels, zonder de verwijderde sleutels die nog in de hoop zitten.
+     */
+    private long size;
+
+    /**
+     * Per sleutel het aantal verwijderde exemplaren dat nog in de invoeghoop, de verwijderbuffer of een reeks zit.
+     */
+    private final Map<Long, Integer> deleted;
+    private long deletedCount;
+    /**
+     * Per sleutel de levende referenties, de oudste vooraan.
+     */
+    private final Map<Long, ArrayDeque<Key>> handles;
+
+    public SequenceHeap(){
+        this(DEFAULT_BUFFER, DEFAULT_ARITY);
+    }
+
+    /**
+     * @param buffer De grootte m van de invoeghoop en de verwijderbuffer.
+     * @param arity Het aantal reeksen k per groep.
+     */
+    public SequenceHeap(int buffer, int arity){
+        if(buffer < 2 || arity < 2){
+            throw new IllegalArgumentException("Buffer " + buffer + " and arity " + arity + " must be at least 2.");
+        }
+        this.buffer = buffer;
+        this.arity = arity;
+        this.insertion = new LongBinaryHeap(buffer);
+        this.deletion = new long[buffer];
+        this.groups = new ArrayList<>();
+        this.size = 0;
+        this.deleted = new HashMap<>();
+        this.handles = new HashMap<>();
+    }
+
+    /**
+     * Voeg een sleutel toe aan de invoeghoop, en maak die eerst leeg als hij vol is.
+     * O(log m) plus O(log_k(n / m)) gearmortiseerd voor het samenvoegen van reeksen.
+     * @param key De sleutel.
+     */
+    public void add(long key){
+        if(insertion.isFull()){
+            flushInsertion();
+        }
+        insertion.add(key);
+        size++;
+    }
+
+    /**
+     * Verwijderde sleutels die vooraan staan halen we eerst weg.
+     * @return De kleinste sleutel.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    public long peekLong() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+        long min = peek();
+        while (deletedCount > 0 && purge(min)){
+            min = peek();
+        }
+        return min;
+    }
+
+    /**
+     * Verwijder de kleinste sleutel uit de verwijderbuffer of uit de invoeghoop.
+     * @return De kleinste sleutel.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    public long pollLong() throws EmptyHeapException {
+        long min = peekLong();
+        poll();
+        size--;
+        if(!handles.isEmpty()){
+            retire(min);
+        }
+        return min;
+    }
+
+    /**
+     * @return De kleinste sleutel in de hoop, ook als die verwijderd is. Er moet minstens één sleutel in de hoop zitten.
+     */
+    private long peek(){
+        if(deletionFrom == deletionTo){
+            refill();
+        }
+        if(deletionFrom == deletionTo){
+            return insertion.peek();
+        }
+        if(insertion.isEmpty()){
+            return deletion[deletionFrom];
+        }
+        return Math.min(deletion[deletionFrom], insertion.peek());
+    }
+
+    /**
+     * Haal de kleinste sleutel uit de hoop, ook als die verwijderd is.
+     */
+    private void poll(){
+        long min = peek();
+        if(deletionFrom < deletionTo && deletion[deletionFrom] == min){
+            deletionFrom++;
+        } else {
+            insertion.poll();
+        }
+    }
+
+    /**
+     * Haal een verwijderd exemplaar van de kleinste sleutel uit de hoop, als er een is.
+     * @param min De kleinste sleutel.
+     * @return Of er een verwijderd exemplaar was.
+     */
+    private boolean purge(long min){
+        Integer count = deleted.get(min);
+        if(count == null){
+            return false;
+        }
+        poll();
+        if(count == 1){
+            deleted.remove(min);
+        } else {
+            deleted.put(min, count - 1);
+        }
+        deletedCount--;
+        return true;
+    }
+
+    /**
+     * Een exemplaar van de sleutel is verwijderd via removeMin, de oudste referentie naar die sleutel is niet meer geldig.
+     * @param key De sleutel.
+     */
+    private void retire(long key){
+        ArrayDeque<Key> keys = handles.get(key);
+        if(keys != null){
+            keys.poll().live = false;
+            if(keys.isEmpty()){
+                handles.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Onthoud een referentie bij zijn sleutel.
+     * @param key De referentie.
+     * @return De referentie.
+     */
+    private Key register(Key key){
+        handles.computeIfAbsent(key.value, k -> new ArrayDeque<>()).add(key);
+        return key;
+    }
+
+    /**
+     * Verwijder een levende referentie lui: zijn sleutel blijft in de hoop tot hij vooraan komt.
+     * @param key De referentie.
+     */
+    private void delete(Key key){
+        ArrayDeque<Key> keys = handles.get(key.value);
+        keys.remove(key);
+        if(keys.isEmpty()){
+            handles.remove(key.value);
+        }
+        deleted.merge(key.value, 1, Integer::sum);
+        deletedCount++;
+        size--;
+    }
+
+    /**
+     * Sorteer de invoeghoop tot een reeks. De rest van de verwijderbuffer voegen we daarbij,
+     * anders zou een nieuwe sleutel kleiner kunnen zijn dan een sleutel die nog in de verwijderbuffer staat zonder dat we dat merken.
+     */
+    private void flushInsertion(){
+        long[] sequence = insertion.drainSorted();
+        if(deletionFrom < deletionTo){
+            sequence = merge(sequence, Arrays.copyOfRange(deletion, deletionFrom, deletionTo));
+            deletionFrom = deletionTo = 0;
+        }
+        addSequence(0, sequence);
+    }
+
+    /**
+     * Voeg een reeks toe aan een groep. Een volle groep wordt eerst samengevoegd tot één reeks in de volgende groep.
+     * @param group De index van de groep.
+     * @param sequence De gesorteerde reeks.
+     */
+    private void addSequence(int group, long[] sequence){
+        if(group == groups.size()){
+            groups.add(new Group(arity));
+        }
+        Group g = groups.get(group);
+        if(!g.add(sequence)){
+            long total = g.remaining();
+            if(total > Integer.MAX_VALUE - 8){
+                throw new IllegalStateException("Group " + group + " is too large to merge into one array.");
+            }
+            long[] merged = new long[(int) total];
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] = g.poll();
+            }
+            addSequence(group + 1, merged);
+            g.add(sequence);
+        }
+    }
+
+    /**
+     * Vul de verwijderbuffer met de kleinste m sleutels van alle reeksen.
+     * We nemen sleutels uit de groep met de kleinste kop zolang die niet groter is dan de kop van de tweede beste groep.
+     */
+    private void refill(){
+        deletionFrom = 0;
+        deletionTo = 0;
+        while (deletionTo < buffer){
+            Group best = null;
+            Group second = null;
+            for (Group g : groups) {
+                if(g.isEmpty()){
+                    continue;
+                }
+                if(best == null || g.peek() < best.peek()){
+                    second = best;
+                    best = g;
+                } else if(second == null || g.peek() < second.peek()){
+                    second = g;
+                }
+            }
+            if(best == null){
+                return;
+            }
+            do {
+                deletion[deletionTo++] = best.poll();
+            } while (deletionTo < buffer && !best.isEmpty() && (second == null || best.peek() <= second.peek()));
+        }
+    }
+
+    private static long[] merge(long[] a, long[] b){
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, o = 0;
+        while (i < a.length && j < b.length){
+            out[o++] = a[i] <= b[j] ? a[i++] : b[j++];
+        }
+        while (i < a.length){
+            out[o++] = a[i++];
+        }
+        while (j < b.length){
+            out[o++] = b[j++];
+        }
+        return out;
+    }
+
+    public boolean isEmpty(){
+        return size < 1;
+    }
+
+    public long size(){
+        return size;
+    }
+
+    /**
+     * @return Het aantal groepen met reeksen.
+     */
+    public int getGroups(){
+        return groups.size();
+    }
+
+    /**
+     * Voeg een sleutel toe via de Heap interface. remove en update op de referentie werken lui, zie de klasse.
+     * Gebruik {@link #add(long)} om het boxen en de referentie te vermijden.
+     * @param value De sleutel.
+     * @return De referentie naar een exemplaar van de sleutel.
+     */
+    @Override
+    public Element<Long> insert(Long value) {
+        add(value);
+        return register(new Key(value));
+    }
+
+    /**
+     * @return De oudste levende referentie naar de kleinste sleutel, of een nieuwe als er nog geen is.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public Element<Long> findMin() throws EmptyHeapException {
+        long min = peekLong();
+        ArrayDeque<Key> keys = handles.get(min);
+        return keys != null ? keys.peek() : register(new Key(min));
+    }
+
+    @Override
+    public Long removeMin() throws EmptyHeapException {
+        return pollLong();
+    }
+
+    /**
+     * Een groep van hoogstens k gesorteerde reeksen met een toernooiboom over hun koppen.
+     * De boom staat in een int array vanaf index 1, de bladeren zijn de plaatsen van de reeksen en elke interne knoop bevat de plaats van de winnaar van zijn kinderen.
+     * Een lege plaats verliest van elke reeks, ook van een reeks met kop Long.MAX_VALUE.
+     */
+    private static class Group {
+        private final long[][] keys;
+        private final int[] positions;
+        private final int[] tree;
+        /**
+         * Het aantal bladeren, de kleinste macht van 2 die minstens k is.
+         */
+        private final int leaves;
+        private int used;
+
+        private Group(int arity){
+            this.leaves = Integer.highestOneBit(arity - 1) << 1;
+            this.keys = new long[arity][];
+            this.positions = new int[arity];
+            this.tree = new int[2 * leaves];
+            for (int i = 0; i < leaves; i++) {
+                tree[leaves + i] = i;
+            }
+            for (int i = leaves - 1; i > 0; i--) {
+                tree[i] = winner(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        private boolean isEmpty(){
+            return isEmpty(tree[1]);
+        }
+
+        private boolean isEmpty(int slot){
+            return slot >= keys.length || keys[slot] == null || positions[slot] >= keys[slot].length;
+        }
+
+        /**
+         * @return De kleinste kop, de groep mag niet leeg zijn.
+         */
+        private long peek(){
+            int slot = tree[1];
+            return keys[slot][positions[slot]];
+        }
+
+        /**
+         * Verwijder de kleinste kop en speel het pad van zijn reeks opnieuw. O(log k) zonder allocaties.
+         * @return De kleinste kop, de groep mag niet leeg zijn.
+         */
+        private long poll(){
+            int slot = tree[1];
+            long key = keys[slot][positions[slot]++];
+            if(positions[slot] == keys[slot].length){
+                keys[slot] = null;
+                used--;
+            }
+            replay(slot);
+            return key;
+        }
+
+        /**
+         * @return Het aantal sleutels in de reeksen van de groep.
+         */
+        private long remaining(){
+            long total = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if(!isEmpty(i)){
+                    total += keys[i].length - positions[i];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Zet een reeks op een lege plaats.
+         * @param sequence De gesorteerde reeks.
+         * @return Of er nog een plaats vrij was.
+         */
+        private boolean add(long[] sequence){
+            if(used == keys.length){
+                return false;
+            }
+            if(sequence.length == 0){
+                return true;
+            }
+            int slot = 0;
+            while (keys[slot] != null){
+                slot++;
+            }
+            keys[slot] = sequence;
+            positions[slot] = 0;
+            used++;
+            replay(slot);
+            return true;
+        }
+
+        private void replay(int slot){
+            for (int i = (leaves + slot) / 2; i > 0; i /= 2) {
+                tree[i] = winner(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        private int winner(int a, int b){
+            if(isEmpty(b)){
+                return a;
+            }
+            if(isEmpty(a)){
+                return b;
+            }
+            return keys[b][positions[b]] < keys[a][positions[a]] ? b : a;
+        }
+    }
+
+    /**
+     * Referentie naar een exemplaar van een sleutel. Ze blijft geldig tot ze verwijderd wordt, of tot removeMin een exemplaar van haar sleutel teruggeeft.
+     */
+    private class Key implements Element<Long> {
+        private long value;
+        private boolean live;
+
+        private Key(long value){
+            this.value = value;
+            this.live = true;
+        }
+
+        private void check(){
+            if(!live){
+                throw new IllegalStateException("Element " + value + " was removed.");
+            }
+        }
+
+        @Override
+        public Long value() {
+            return value;
+        }
+
+        /**
+         * O(1), de sleutel wordt pas uit de hoop gehaald als hij vooraan komt.
+         */
+        @Override
+        public void remove() {
+            check();
+            delete(this);
+            live = false;
+        }
+
+        /**
+         * Verwijder de oude sleutel lui en voeg de nieuwe toe.
+         * @param value De nieuwe sleutel.
+         */
+        @Override
+        public void update(Long value) {
+            check();
+            delete(this);
+            this.value = value;
+            add(value);
+            register(this);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package heap.skew;
 
 import heap.*;
-
+import heap.helpers.OrderedIterator;
+import heap.helpers.ParallelBuild;
+import heap.helpers.TreeSpliterator;
+import heap.jfr.HeapOperationEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 /**
  * Skew heap.
@@ -35,11 +47,50 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         refs.put(element, newNode);
 
         //Merge met de wortel
-        root = merge(newNode, root);
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] links = event.isEnabled() ? new int[1] : null;
+        event.begin();
+        root = merge(newNode, root, links);
+        if(event.shouldCommit()){
+            event.emit("insert", this, links[0]);
+        }
 
         return newNode.element;
     }
 
+    /**
+     * Zoals {@link #insertAll(Collection, ForkJoinPool)}, sequentieel.
+     * @param values De toe te voegen waarden.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    @Override
+    public List<ComparableElement<T>> insertAll(Collection<T> values) {
+        return insertAll(values, null);
+    }
+
+    /**
+     * Voeg alle waarden in één keer toe: de nieuwe toppen worden paarsgewijs gemerged, dan de resultaten paarsgewijs, enzovoort (zie {@link ParallelBuild#reduce}).
+     * De twee helften van elke stap worden in aparte taken gemerged, het resultaat wordt op het einde met de wortel gemerged.
+     * De map met referenties wordt vooraf sequentieel aangevuld, de taken raken enkel de nieuwe toppen.
+     * O(n) werk gearmortiseerd, O(log^2 n) diepte.
+     * @param values De toe te voegen waarden.
+     * @param pool De pool waarin de toppen gemerged worden, of null om sequentieel te werken.
+     * @return De referenties naar de toegevoegde elementen, in dezelfde volgorde als de waarden.
+     */
+    public List<ComparableElement<T>> insertAll(Collection<T> values, ForkJoinPool pool) {
+        List<SkewNode> nodes = new ArrayList<>(values.size());
+        List<ComparableElement<T>> elements = new ArrayList<>(values.size());
+        for (T value : values) {
+            Element element = new Element(value);
+            SkewNode node = new SkewNode(element);
+            refs.put(element, node);
+            nodes.add(node);
+            elements.add(element);
+        }
+        root = merge(root, ParallelBuild.reduce(nodes, this::merge, pool));
+        return elements;
+    }
+
     /**
      * Zoek het kleinste element. Dit is altijd de wortel.
      * @return Referentie naar het kleinste element.
@@ -78,7 +129,13 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         refs.remove(root.element);
 
         //Merge de kinderen van de wortel
-        root = merge(root.left, root.right);
+        HeapOperationEvent event = new HeapOperationEvent();
+        int[] links = event.isEnabled() ? new int[1] : null;
+        event.begin();
+        root = merge(root.left, root.right, links);
+        if(event.shouldCommit()){
+            event.emit("removeMin", this, links[0]);
+        }
 
         return min.element.value();
     }
@@ -91,44 +148,39 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
         return root == null;
     }
 
+    @Override
+    public int getSize() {
+        return refs.size();
+    }
+
     /**
      * Verwijder een arbitrair element uit de heap.
-     * Verplaats het element naar de wortel. Verwijder nadien de wortel.
+     * We vervangen de top door de merge van zijn kinderen, er wordt dus niets gewisseld.
+     * O(log n) gearmortiseerd.
      * @param e Het te verwijderen element.
      */
     private void _remove(Element e){
-        SkewNode node = refs.get(e);
-
-        while (node.parent!=null){
-            swap(node, node.parent);
-            node = refs.get(e);
-        }
-
-        try {
-            removeMin();
-        } catch (EmptyHeapException e1) {
-            //surpress
-        }
+        detach(refs.remove(e));
     }
 
 
     /**
-     * Verplaats het element naar boven tot er opnieuw aan de min-heap eigenschap voldaan wordt.
+     * Herstel de min-heap eigenschap na het verkleinen van een element.
+     * Als het element kleiner is dan zijn ouder knippen we zijn deelboom los en mergen we die met de wortel.
      * @param e Het te verplaatsen element.
      */
     private void moveUp(Element e){
         SkewNode node = refs.get(e);
 
-        while (node.parent!=null && node.parent.compareTo(node) > 0){
-            //Wissel referenties
-            swap(node, node.parent);
-            node = refs.get(e);
+        if(node.parent!=null && node.parent.compareTo(node) > 0){
+            replace(node, null);
+            root = merge(node, root);
         }
-
     }
 
     /**
-     * Verplaats het element naar beneden tot er opnieuw aan de min-heap eigenschap voldaan wordt.
+     * Herstel de min-heap eigenschap na het vergroten van een element.
+     * We vervangen de top door de merge van zijn kinderen en voegen de top zonder kinderen opnieuw toe.
      * @param e Het te verplaatsen element.
      */
     private void moveDown(Element e){
@@ -139,43 +191,51 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             return;
         }
 
-        //1 Kind swap dat kind indien niet aan min-heap voorwaarde voldaan wordt
-        if(node.left==null){
-            if(node.right.compareTo(node) < 0){
-                swap(node, node.right);
-                moveDown(e);
-            }
-            return;
-        }
-        if(node.right==null){
-            if(node.left.compareTo(node) < 0){
-                swap(node, node.left);
-                moveDown(e);
-            }
-            return;
-        }
+        detach(node);
+        root = merge(node, root);
+    }
 
-        //Zoek het kleinste kind en kijk of er nog aan de min-heap voorwaarde voldaan wordt. Swap indien niet.
-        SkewNode smallest = node.left.compareTo(node.right) < 0 ? node.left : node.right;
-        if(smallest.compareTo(node) < 0){
-            swap(node, smallest);
-            moveDown(e);
+    /**
+     * Haal een top uit de boom door hem te vervangen door de merge van zijn kinderen.
+     * @param node De los te maken top, die nadien geen kinderen en geen ouder meer heeft.
+     */
+    private void detach(SkewNode node){
+        if(node.left!=null) {
+            node.left.parent = null;
         }
-
+        if(node.right!=null) {
+            node.right.parent = null;
+        }
+        SkewNode children = merge(node.left, node.right);
+        node.left = null;
+        node.right = null;
+        replace(node, children);
     }
 
     /**
-     * Wissel de 'node' referenties en de referenties in de map om.
-     * @param node1 De eerste te wisselen node.
-     * @param node2 De tweede te wisselen node.
+     * Zet een andere deelboom op de plaats van een top.
+     * Als een linkerkind verdwijnt schuiven we het rechterkind naar links, zodat aan de skew eigenschap voldaan blijft.
+     * @param node De te vervangen top, die nadien geen ouder meer heeft.
+     * @param replacement De nieuwe deelboom, of null.
      */
-    private void swap(SkewNode node1, SkewNode node2){
-        Element tmp = node1.element;
-        node1.element = node2.element;
-        node2.element = tmp;
-
-        refs.put(node1.element, node1);
-        refs.put(node2.element, node2);
+    private void replace(SkewNode node, SkewNode replacement){
+        SkewNode parent = node.parent;
+        if(parent==null){
+            root = replacement;
+        } else if(parent.left==node){
+            if(replacement==null){
+                parent.left = parent.right;
+                parent.right = null;
+            } else {
+                parent.left = replacement;
+            }
+        } else {
+            parent.right = replacement;
+        }
+        if(replacement!=null){
+            replacement.parent = parent;
+        }
+        node.parent = null;
     }
 
     /**
@@ -188,7 +248,44 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     }
 
     /**
-     * Kijk de min-heap eigenschap na voor deze top en zijn kinderen.
+     * Print de heap in een human readable vorm.
+     */
+    @Override
+    public void printHeap() {
+        System.out.println(stream().map(T::toString).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * We overlopen de boom via het linker- en rechterkind van elke top.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new TreeSpliterator<SkewNode, T>(root, Long.MAX_VALUE, n -> n.left, n -> n.right, n -> n.element.value());
+    }
+
+    /**
+     * Elke top heeft hoogstens 2 kinderen, de k kleinste elementen kosten dus O(k log k).
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<SkewNode, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(root),
+                SkewNode::compareTo,
+                (n, add) -> {
+                    if(n.left!=null){
+                        add.accept(n.left);
+                    }
+                    if(n.right!=null){
+                        add.accept(n.right);
+                    }
+                },
+                n -> n.element.value());
+    }
+
+    /**
+     * Kijk de min-heap eigenschap en de ouderreferenties na voor deze top en zijn kinderen.
      * @param node De te bekijken top.
      * @return true als aan de min-heap eigenschap voldaan wordt.
      */
@@ -197,6 +294,10 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             return true;
         }
 
+        if((node.left!=null && node.left.parent!=node) || (node.right!=null && node.right.parent!=node)){
+            return false;
+        }
+
         if(node.parent==null){
             return isHeap(node.left) && isHeap(node.right);
         } else {
@@ -214,13 +315,27 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
     }
 
     /**
-     * De centrale bewerking voor deze heap. We gebruiken hier de recursive skew merge bewerking.
+     * De centrale bewerking voor deze heap. We gebruiken hier de top-down skew merge bewerking.
+     * We lopen langs de rechterpaden van beide bomen, hangen telkens de kleinste top aan de vorige top en wisselen onderweg de kinderen om.
+     * Zonder recursie kunnen ook lange rechterpaden (bv. bij stijgende of dalende invoer) de stack niet doen overlopen.
      * O(log n) gearmortiseerd.
      * @param node1 Eerste te mergen node.
      * @param node2 Tweede te mergen node.
      * @return Het resultaat van het mergen van de twee nodes.
      */
     private SkewNode merge(SkewNode node1, SkewNode node2){
+        return merge(node1, node2, null);
+    }
+
+    /**
+     * Zoals {@link #merge(SkewNode, SkewNode)}, en tel het aantal toppen op het gemergede pad voor {@link HeapOperationEvent}.
+     * We tellen in een lokale variabele en schrijven die enkel weg als de oproeper erom vraagt, zodat een merge zonder event geen gedeeld veld aanpast.
+     * @param node1 Eerste te mergen node.
+     * @param node2 Tweede te mergen node.
+     * @param links Krijgt het aantal toppen op het gemergede pad in links[0], of null om niet te tellen.
+     * @return Het resultaat van het mergen van de twee nodes.
+     */
+    private SkewNode merge(SkewNode node1, SkewNode node2, int[] links){
         //Nieuwe wortel
         if(node1==null){
             return node2;
@@ -239,12 +354,33 @@ public class SkewHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
             max = node1;
         }
 
-        //Wissel kinderen van de kleinste om en merge linkerkind vd. kleinste met de grootste
-        SkewNode tmp = min.right;
-        min.right = min.left;
-        max.parent = min;
-        min.left = merge(max, tmp);
-        return min;
+        //Wissel telkens de kinderen van de laatste top om, en hang de kleinste van max en het oude rechterkind als linkerkind aan
+        SkewNode top = min;
+        int steps = 1;
+        while (true){
+            SkewNode tmp = min.right;
+            min.right = min.left;
+            if(tmp==null){
+                min.left = max;
+                max.parent = min;
+                if(links != null){
+                    links[0] = steps;
+                }
+                return top;
+            }
+            steps++;
+
+            SkewNode next;
+            if(max.compareTo(tmp) < 0){
+                next = max;
+                max = tmp;
+            } else {
+                next = tmp;
+            }
+            min.left = next;
+            next.parent = min;
+            min = next;
+        }
     }
 
     /**
@@ -0,0 +1,224 @@
+package heap.util;
+
+import heap.EmptyHeapException;
+import heap.Heaps;
+import heap.binary.BinaryHeap;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Voegt K gesorteerde bronnen lui samen tot één gesorteerde reeks.
+ * Elke bron zit met zijn eerstvolgende waarde in een binaire hoop. Na het teruggeven van het minimum schuift de bron aan de wortel één positie op
+ * en zeven we die wortel met replaceMin opnieuw naar beneden, in plaats van removeMin gevolgd door insert.
+ * Per waarde is dat O(log K) en er worden geen waarden gekopieerd of tussentijds opgeslagen.
+ * Gelijke waarden komen in de volgorde van de bronnen.
+ * @param <T> Het type van de waarden, dat Comparable moet zijn.
+ */
+public class KWayMerger<T extends Comparable<T>> implements Iterator<T> {
+    private final BinaryHeap<Source<T>> heap;
+
+    /**
+     * @param sources De gesorteerde bronnen, zonder null-waarden.
+     */
+    public KWayMerger(Collection<? extends Iterator<? extends T>> sources){
+        this.heap = Heaps.newBinaryHeap();
+        int index = 0;
+        for (Iterator<? extends T> source : sources) {
+            Source<T> s = new Source<>(source, index++);
+            if(s.advance()){
+                heap.insert(s);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return heap.getSize() > 0;
+    }
+
+    /**
+     * Geef het minimum van alle bronnen en schuif zijn bron op.
+     * O(log K)
+     * @return De volgende waarde.
+     */
+    @Override
+    public T next() {
+        try {
+            Source<T> min = heap.findMin().value();
+            T value = min.head;
+            if(min.advance()){
+                heap.replaceMin(min);
+            } else {
+                heap.removeMin();
+            }
+            return value;
+        } catch (EmptyHeapException e) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * @return Een gesorteerde Spliterator over de resterende waarden.
+     */
+    public Spliterator<T> spliterator(){
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL);
+    }
+
+    /**
+     * @return Een sequentiële stream over de resterende waarden.
+     */
+    public Stream<T> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Voeg gesorteerde bronnen van primitieve longs samen, zonder de waarden in te pakken.
+     * @param sources De gesorteerde bronnen.
+     * @return Een iterator over alle waarden in stijgende volgorde.
+     */
+    public static PrimitiveIterator.OfLong mergeLongs(Collection<? extends PrimitiveIterator.OfLong> sources){
+        return new LongMerger(sources);
+    }
+
+    /**
+     * @param sources De gesorteerde bronnen.
+     * @return Een gesorteerde LongStream over alle waarden.
+     */
+    public static LongStream streamLongs(Collection<? extends PrimitiveIterator.OfLong> sources){
+        return StreamSupport.longStream(
+                Spliterators.spliteratorUnknownSize(mergeLongs(sources), Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Lees een buffer (bv. een MappedByteBuffer van een segmentbestand) als een reeks longs, zonder de inhoud te kopiëren.
+     * We werken op een duplicaat, zodat de positie van de oorspronkelijke buffer niet verandert.
+     * @param buffer Buffer met gesorteerde longs, van de huidige positie tot de limiet.
+     * @return Een iterator over de longs in de buffer.
+     */
+    public static PrimitiveIterator.OfLong longs(ByteBuffer buffer){
+        ByteBuffer view = buffer.duplicate().order(buffer.order());
+        return new PrimitiveIterator.OfLong() {
+            @Override
+            public long nextLong() {
+                if(!hasNext()){
+                    throw new NoSuchElementException();
+                }
+                return view.getLong();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return view.remaining() >= Long.BYTES;
+            }
+        };
+    }
+
+    /**
+     * Een bron met zijn eerstvolgende waarde. Bij gelijke waarden komt de bron met de kleinste index eerst.
+     */
+    private static class Source<T extends Comparable<T>> implements Comparable<Source<T>> {
+        private final Iterator<? extends T> iterator;
+        private final int index;
+        private T head;
+
+        private Source(Iterator<? extends T> iterator, int index){
+            this.iterator = iterator;
+            this.index = index;
+        }
+
+        /**
+         * @return Of de bron nog een waarde had.
+         */
+        private boolean advance(){
+            if(!iterator.hasNext()){
+                head = null;
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Source<T> o) {
+            int cmp = head.compareTo(o.head);
+            return cmp != 0 ? cmp : Integer.compare(index, o.index);
+        }
+    }
+
+    /**
+     * Analoog aan Source, maar voor primitieve longs.
+     */
+    private static class LongSource implements Comparable<LongSource> {
+        private final PrimitiveIterator.OfLong iterator;
+        private final int index;
+        private long head;
+
+        private LongSource(PrimitiveIterator.OfLong iterator, int index){
+            this.iterator = iterator;
+            this.index = index;
+        }
+
+        private boolean advance(){
+            if(!iterator.hasNext()){
+                return false;
+            }
+            head = iterator.nextLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(LongSource o) {
+            int cmp = Long.compare(head, o.head);
+            return cmp != 0 ? cmp : Integer.compare(index, o.index);
+        }
+    }
+
+    /**
+     * Analoog aan KWayMerger, maar voor primitieve longs.
+     */
+    private static class LongMerger implements PrimitiveIterator.OfLong {
+        private final BinaryHeap<LongSource> heap;
+
+        private LongMerger(Collection<? extends PrimitiveIterator.OfLong> sources){
+            this.heap = Heaps.newBinaryHeap();
+            int index = 0;
+            for (PrimitiveIterator.OfLong source : sources) {
+                LongSource s = new LongSource(source, index++);
+                if(s.advance()){
+                    heap.insert(s);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heap.getSize() > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            try {
+                LongSource min = heap.findMin().value();
+                long value = min.head;
+                if(min.advance()){
+                    heap.replaceMin(min);
+                } else {
+                    heap.removeMin();
+                }
+                return value;
+            } catch (EmptyHeapException e) {
+                throw new NoSuchElementException();
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package heap.util;
+
+import heap.EmptyHeapException;
+import heap.Heaps;
+import heap.binary.BinaryHeap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Houdt de K grootste waarden bij uit een stroom van waarden.
+ * De waarden zitten in een binaire hoop die nooit groter wordt dan K, de wortel is dus de kleinste waarde die we nog bijhouden.
+ * Een grotere waarde vervangt de wortel met één keer zeven, een kleinere waarde kost één vergelijking.
+ * Dit is O(n log K) tijd en O(K) geheugen, in plaats van alle waarden te sorteren.
+ * @param <T> Het type van de waarden, dat Comparable moet zijn.
+ */
+public class TopK<T extends Comparable<T>> {
+    private final int k;
+    private final BinaryHeap<T> heap;
+
+    /**
+     * @param k Het aantal waarden dat we bijhouden.
+     */
+    public TopK(int k){
+        if(k < 1){
+            throw new IllegalArgumentException("K must be positive.");
+        }
+        this.k = k;
+        this.heap = Heaps.newBinaryHeap();
+    }
+
+    /**
+     * Bied een waarde aan. Zolang er minder dan K waarden zijn voegen we ze toe, daarna vervangt de waarde de wortel als ze groter is.
+     * O(log K)
+     * @param value De aangeboden waarde.
+     */
+    public void offer(T value){
+        if(heap.getSize() < k){
+            heap.insert(value);
+            return;
+        }
+        try {
+            if(heap.findMin().value().compareTo(value) < 0){
+                heap.replaceMin(value);
+            }
+        } catch (EmptyHeapException e) {
+            //De hoop bevat K waarden
+        }
+    }
+
+    /**
+     * Voeg de waarden van een ander deelresultaat samen met dit resultaat en hou opnieuw enkel de K grootste over.
+     * O(K log K)
+     * @param other Het andere deelresultaat, dat nadien leeg is.
+     * @return Dit resultaat.
+     */
+    public TopK<T> combine(TopK<T> other){
+        heap.meld(other.heap);
+        try {
+            while (heap.getSize() > k){
+                heap.removeMin();
+            }
+        } catch (EmptyHeapException e) {
+            //De hoop bevat meer dan K waarden
+        }
+        return this;
+    }
+
+    /**
+     * @return Het aantal waarden dat we op dit moment bijhouden.
+     */
+    public int size(){
+        return heap.getSize();
+    }
+
+    /**
+     * Haal alle waarden uit de hoop, dit resultaat is nadien leeg.
+     * @return De bijgehouden waarden, van groot naar klein.
+     */
+    public List<T> drain(){
+        List<T> values = new ArrayList<>(heap.getSize());
+        try {
+            while (heap.getSize() > 0){
+                values.add(heap.removeMin());
+            }
+        } catch (EmptyHeapException e) {
+            //We stoppen als de hoop leeg is
+        }
+        Collections.reverse(values);
+        return values;
+    }
+
+    /**
+     * Een Collector die de K grootste waarden van een stream teruggeeft, van groot naar klein.
+     * Bij een parallelle stream houdt elke thread een eigen TopK bij, die achteraf samengevoegd worden.
+     * @param k Het aantal waarden.
+     * @param <T> Het type van de waarden.
+     * @return De Collector.
+     */
+    public static <T extends Comparable<T>> Collector<T, TopK<T>, List<T>> collector(int k){
+        return Collector.of(() -> new TopK<>(k), TopK::offer, TopK::combine, TopK::drain, Collector.Characteristics.UNORDERED);
+    }
+}
@@ -0,0 +1,353 @@
+package heap.weak;
+
+import heap.*;
+import heap.helpers.IndexSpliterator;
+import heap.helpers.OrderedIterator;
+import heap.jfr.HeapOperationEvent;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+/**
+ * Weak heap die als array met omkeerbits geïmplementeerd wordt, de wortel bevindt zich op index 0.
+ * De kinderen van top i zijn 2i + r(i) (links) en 2i + 1 - r(i) (rechts), het omkeren van bit r(i) wisselt dus de deelbomen van i om.
+ * Elke top is maximaal gelijk aan alle toppen in zijn rechterdeelboom, de wortel heeft geen linkerdeelboom.
+ * Verwijderen van het minimum kost ongeveer log(n) vergelijkingen, n keer removeMin dus n log(n) + O(n), tegenover ongeveer 2 log(n) voor de binaire hoop.
+ * Dit loont wanneer vergelijkingen duur zijn.
+ * @param <T> Het type van de Heap, dat Comparable moet zijn.
+ */
+public class WeakHeap<T extends Comparable<T>> implements ExtendedHeap<T> {
+
+    private int size;
+    private Element[] heap;
+    private BitSet reverse;
+
+    /**
+     * We negeren hier de compilerwaarschuwing die gegenereerd wordt omdat door type Erasure het type van de elementen binnen het array niet vastgesteld kan worden.
+     * Door Array.newInstance() op te roepen weten we dat het array van het correcte type gemaakt wordt.
+     */
+    @SuppressWarnings("reflect")
+    public WeakHeap(){
+        //noinspection unchecked
+        this.heap = (Element[]) Array.newInstance(Element.class, 4);
+        this.reverse = new BitSet();
+        this.size = 0;
+    }
+
+    /**
+     * We voegen het element toe als laatste blad en bewegen het naar boven langs zijn onderscheiden voorouders.
+     * O(log(n))
+     * @param value Het element dat we willen toevoegen.
+     * @return De referentie naar het element dat we toegevoegd hebben.
+     */
+    @Override
+    public ComparableElement<T> insert(T value) {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element newVal = new Element(value, size);
+        int joins = add(newVal);
+        if(event.shouldCommit()){
+            event.emit("insert", this, joins);
+        }
+        return newVal;
+    }
+
+    /**
+     * Plaats het element als laatste blad en herstel de hoop.
+     * @param e Het toe te voegen element.
+     * @return Het aantal samenvoegingen met een onderscheiden voorouder.
+     */
+    private int add(Element e){
+        if(size>=heap.length){
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        e.setIndex(size);
+        heap[size] = e;
+        reverse.clear(size);
+        //De ouder had nog geen kinderen, we zorgen dat het nieuwe blad zijn linkerkind is
+        if((size & 1) == 0){
+            reverse.clear(size / 2);
+        }
+        return moveUp(size++, false);
+    }
+
+    /**
+     * Het kleinste element is altijd de wortel.
+     * @return Het kleinste element van de hoop.
+     * @throws EmptyHeapException De hoop is leeg.
+     */
+    @Override
+    public ComparableElement<T> findMin() throws EmptyHeapException {
+        if(isEmpty()){
+            throw new EmptyHeapException();
+        }
+
+        return heap[0];
+    }
+
+    /**
+     * We verplaatsen het laatste blad naar de wortel. Nadien dalen we langs de linkerkinderen af vanaf het rechterkind van de wortel
+     * en voegen we elke top op dat pad van onder naar boven samen met de wortel, met één vergelijking per top.
+     * O(log(n))
+     * @return De waarde van het verwijderde element.
+     * @throws EmptyHeapException De heap is leeg.
+     */
+    @Override
+    public T removeMin() throws EmptyHeapException {
+        HeapOperationEvent event = new HeapOperationEvent();
+        event.begin();
+        Element ret = (Element) findMin();
+        int joins = deleteMin();
+        if(event.shouldCommit()){
+            event.emit("removeMin", this, joins);
+        }
+        return ret.value();
+    }
+
+    /**
+     * Verwijder de wortel, de hoop is niet leeg.
+     * @return Het aantal samenvoegingen met de wortel, één vergelijking per samenvoeging.
+     */
+    private int deleteMin(){
+        int joins = 0;
+        size--;
+        heap[0] = heap[size];
+        heap[0].setIndex(0);
+        heap[size] = null;
+
+        if(size > 1){
+            int j = 1;
+            while (left(j) < size){
+                j = left(j);
+            }
+            while (j != 0){
+                join(0, j);
+                joins++;
+                j = j / 2;
+            }
+        }
+        return joins;
+    }
+
+    /**
+     * @param index De index van de top.
+     * @return De index van het linkerkind.
+     */
+    private int left(int index){
+        return 2 * index + (reverse.get(index) ? 1 : 0);
+    }
+
+    /**
+     * @param index De index van de top.
+     * @return De index van het rechterkind.
+     */
+    private int right(int index){
+        return 2 * index + 1 - (reverse.get(index) ? 1 : 0);
+    }
+
+    /**
+     * De onderscheiden voorouder van een top is de ouder van de eerste top op het pad naar de wortel die een rechterkind is.
+     * De top zit in de rechterdeelboom van die voorouder, die dus maximaal gelijk is aan de top.
+     * @param index De index van de top (niet de wortel).
+     * @return De index van de onderscheiden voorouder.
+     */
+    private int ancestor(int index){
+        while (left(index / 2) == index){
+            index = index / 2;
+        }
+        return index / 2;
+    }
+
+    /**
+     * Voeg top j samen met zijn onderscheiden voorouder i. Als j kleiner is wisselen we beide en keren we de deelbomen van j om.
+     * Dit kost juist één vergelijking.
+     * @param i De onderscheiden voorouder van j.
+     * @param j De top.
+     * @return Of er aan de weak heap eigenschap voldaan was.
+     */
+    private boolean join(int i, int j){
+        if(heap[j].compareTo(heap[i]) < 0){
+            swap(i, j);
+            reverse.flip(j);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * We bewegen het element naar boven langs zijn onderscheiden voorouders tot er aan de weak heap eigenschap voldaan wordt.
+     * @param j Index van het te verplaatsen element.
+     * @param delete We hebben de bedoeling om het element te verwijderen, we bewegen het element naar de wortel ongeacht de eigenschap.
+     * @return Het aantal onderscheiden voorouders dat we bekeken hebben.
+     */
+    private int moveUp(int j, boolean delete){
+        int levels = 0;
+        while (j != 0){
+            int i = ancestor(j);
+            levels++;
+            if(delete){
+                swap(i, j);
+                reverse.flip(j);
+            } else if(join(i, j)){
+                return levels;
+            }
+            j = i;
+        }
+        return levels;
+    }
+
+    /**
+     * Hulpmethode voor het omwisselen van 2 elementen en het fixen van de referenties naar het Element.
+     * @param pos1 De index van het eerste te wisselen element.
+     * @param pos2 De index van het tweede te wisselen element.
+     */
+    private void swap(int pos1, int pos2){
+        Element tmp = heap[pos1];
+
+        heap[pos1] = heap[pos2];
+        heap[pos1].setIndex(pos1);
+
+        heap[pos2] = tmp;
+        tmp.setIndex(pos2);
+    }
+
+    /**
+     * Print de heap in een human readable vorm.
+     */
+    @Override
+    public void printHeap(){
+        String out = Arrays.stream(heap).filter(Objects::nonNull).map(i->i.value().toString()).collect(Collectors.joining(", "));
+        System.out.println(out);
+    }
+
+    /**
+     * We overlopen de posities 0 tot en met size - 1 van het array.
+     * @return Een ongeordende, splitsbare Spliterator over de waarden.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IndexSpliterator<>(0, size, i -> heap[i].value());
+    }
+
+    /**
+     * De toppen met top i als onderscheiden voorouder zijn het rechterkind van i en de linkerkinderen die daaronder volgen.
+     * Na een top komen die O(log(n)) toppen in de grens.
+     * @return Een iterator over de waarden in stijgende volgorde.
+     */
+    @Override
+    public Iterator<T> orderedIterator() {
+        return new OrderedIterator<Integer, T>(
+                isEmpty() ? Collections.emptyList() : Collections.singletonList(0),
+                (a, b) -> heap[a].compareTo(heap[b]),
+                (i, add) -> {
+                    for (int c = i == 0 ? 1 : right(i); c < size; c = left(c)) {
+                        add.accept(c);
+                    }
+                },
+                i -> heap[i].value());
+    }
+
+    /**
+     * @return Een human readable naam van de hoop.
+     */
+    @Override
+    public String getName() {
+        return "Weak Heap";
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Of de heap leeg is.
+     */
+    public boolean isEmpty(){
+        return size<1;
+    }
+
+    /**
+     * We controleren of elke top minstens gelijk is aan zijn onderscheiden voorouder, en of de indices kloppen.
+     * @return Of de heap aan alle voorwaarden voldoet.
+     */
+    @Override
+    public boolean isValid(){
+        for (int j = 0; j < size; j++) {
+            if(heap[j].getIndex()!=j || (j > 0 && heap[j].compareTo(heap[ancestor(j)]) < 0)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Het Element dat een voorstelling is van een heapelement.
+     * We houden telkens zijn locatie binnen het array bij zodat we aanpassingen eenvoudig kunnen doorvoeren.
+     */
+    private class Element extends ComparableElement<T>{
+        private int index;
+        private Element(T value, int index){
+            super(value);
+            this.index = index;
+        }
+
+        /**
+         * We bewegen het element naar de wortel van de boom (ongeacht de heapeigenschap) en verwijderen nadien de wortel.
+         */
+        @Override
+        public void remove() {
+            HeapOperationEvent event = new HeapOperationEvent();
+            event.begin();
+            int work = _remove();
+            if(event.shouldCommit()){
+                event.emit("remove", WeakHeap.this, work);
+            }
+        }
+
+        /**
+         * @return Het aantal voorouders op weg naar de wortel plus het aantal samenvoegingen in deleteMin.
+         */
+        private int _remove(){
+            //Er is minstens 1 element in de heap (nl. dit element)
+            return moveUp(index, true) + deleteMin();
+        }
+
+        /**
+         * Een kleinere waarde beweegt naar boven langs de onderscheiden voorouders.
+         * Bij een grotere waarde verwijderen we het element en voegen we het opnieuw toe, de referentie blijft geldig.
+         * @param value de nieuwe waarde voor het element.
+         */
+        @Override
+        public void update(T value) {
+            HeapOperationEvent event = new HeapOperationEvent();
+            event.begin();
+            int work;
+            if(this.value.compareTo(value)<0){
+                work = _remove();
+                this.value = value;
+                work += add(this);
+            } else {
+                this.value = value;
+                work = moveUp(index, false);
+            }
+            if(event.shouldCommit()){
+                event.emit("update", WeakHeap.this, work);
+            }
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -1,19 +1,34 @@
 package heap;
 
+import heap.bheap.BHeap;
 import heap.binary.BinaryHeap;
+import heap.binary.SegmentedBinaryHeap;
 import heap.binomial.BinomialHeap;
+import heap.bucket.BucketQueue;
+import heap.buffered.BufferedHeap;
+import heap.calendar.CalendarQueue;
+import heap.concurrent.SingleWriterHeap;
+import heap.helpers.ParallelBuild;
 import heap.helpers.TriConsumer;
+import heap.jmx.MonitoredHeap;
+import heap.lazy.LazyDeleteHeap;
 import heap.leftist.LeftistHeap;
+import heap.minmax.MinMaxHeap;
 import heap.pairing.PairingHeap;
+import heap.radix.RadixHeap;
 import heap.skew.SkewHeap;
+import heap.weak.WeakHeap;
 import org.junit.Assume;
 import org.junit.Test;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public abstract class AbstractHeapTest<T extends Heap> {
@@ -29,10 +44,22 @@ public abstract class AbstractHeapTest<T extends Heap> {
         if(generators==null){
             HashMap<Class<? extends Heap>, Supplier<ExtendedHeap<Integer>>> _generators = new HashMap<>();
             _generators.put(BinaryHeap.class, Heaps::newBinaryHeap);
+            //Kleine pagina's en blokken zodat de tests veel grenzen overschrijden
+            _generators.put(BHeap.class, () -> new BHeap<>(3));
+            _generators.put(SegmentedBinaryHeap.class, () -> new SegmentedBinaryHeap<>(4));
             _generators.put(BinomialHeap.class, Heaps::newBinomialHeap);
             _generators.put(LeftistHeap.class, Heaps::newLeftistHeap);
             _generators.put(PairingHeap.class, Heaps::newPairingHeap);
             _generators.put(SkewHeap.class, Heaps::newSkewHeap);
+            _generators.put(RadixHeap.class, Heaps::newRadixHeap);
+            _generators.put(BucketQueue.class, () -> Heaps.newBucketQueue(ValueGenerator.MAX * 2));
+            _generators.put(CalendarQueue.class, Heaps::newCalendarQueue);
+            _generators.put(MinMaxHeap.class, Heaps::newMinMaxHeap);
+            _generators.put(WeakHeap.class, Heaps::newWeakHeap);
+            _generators.put(BufferedHeap.class, () -> Heaps.newBufferedHeap(Heaps::newBinaryHeap));
+            _generators.put(LazyDeleteHeap.class, () -> Heaps.newLazyHeap(Heaps::newLeftistHeap));
+            _generators.put(SingleWriterHeap.class, () -> Heaps.newSingleWriterHeap(Heaps::newPairingHeap));
+            _generators.put(MonitoredHeap.class, () -> new MonitoredHeap<>(Heaps.<Integer>newPairingHeap(), 16));
             generators = Collections.unmodifiableMap(_generators);
         }
         return generators;
@@ -143,6 +170,88 @@ public abstract class AbstractHeapTest<T extends Heap> {
         }
     }
 
+    private List<Integer> sorted(Collection<Integer> values){
+        return values.stream().sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void iterateTest(){
+        ExtendedHeap<Integer> heap = newHeap().getKey();
+        List<Integer> values = new ArrayList<>();
+        heap.forEach(values::add);
+        assertEquals(sorted(elements), sorted(values));
+        assertEquals(sorted(elements), sorted(heap.parallelStream().collect(Collectors.toList())));
+        assertTrue("Heap was not valid after iterating", heap.isValid());
+    }
+
+    @Test
+    public void orderedIteratorTest() throws EmptyHeapException {
+        ExtendedHeap<Integer> heap = newHeap().getKey();
+        assertEquals(sorted(elements).subList(0, 100), heap.orderedStream().limit(100).collect(Collectors.toList()));
+        assertEquals(sorted(elements), heap.orderedStream().collect(Collectors.toList()));
+        assertEquals(sorted(elements).get(0), heap.findMin().value());
+        assertTrue("Heap was not valid after iterating", heap.isValid());
+    }
+
+    @Test
+    public void insertAllTest() throws EmptyHeapException {
+        List<Integer> values = new ArrayList<>(elements);
+        ExtendedHeap<Integer> heap = testHeap.get();
+        for (int value : values.subList(0, 100)) {
+            heap.insert(value);
+        }
+        List<? extends Element<Integer>> inserted = heap.insertAll(values.subList(100, values.size()));
+        assertTrue("Heap was not valid after insertAll", heap.isValid());
+        assertEquals(values.size() - 100, inserted.size());
+        for (int i = 0; i < inserted.size(); i++) {
+            assertEquals(values.get(100 + i), inserted.get(i).value());
+        }
+        //De referenties uit insertAll zijn gewone referenties
+        inserted.get(0).update(0);
+        values.set(100, 0);
+        inserted.get(1).remove();
+        values.remove(101);
+        assertTrue("Heap was not valid after updating", heap.isValid());
+
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            removed.add(heap.removeMin());
+        }
+        assertEquals(sorted(values), removed);
+    }
+
+    /**
+     * insertAll met een ForkJoinPool, die elke hoop met een parallelle opbouw op een andere manier aanbiedt.
+     */
+    protected interface ParallelInsertAll {
+        List<? extends Element<Integer>> insertAll(ExtendedHeap<Integer> heap, Collection<Integer> values, ForkJoinPool pool);
+    }
+
+    protected final void parallelInsertAll(ParallelInsertAll insertAll) throws EmptyHeapException {
+        //Genoeg waarden zodat de build effectief in meerdere taken gesplitst wordt
+        List<Integer> values = new Random(45).ints(4 * ParallelBuild.THRESHOLD + 17, 0, ValueGenerator.MAX).boxed().collect(Collectors.toList());
+        ExtendedHeap<Integer> heap = testHeap.get();
+        heap.insert(ValueGenerator.MAX);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<? extends Element<Integer>> inserted;
+        try {
+            inserted = insertAll.insertAll(heap, values, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue("Heap was not valid after parallel insertAll", heap.isValid());
+        assertEquals(values.size(), inserted.size());
+        inserted.get(values.size() / 2).update(-1);
+        values.set(values.size() / 2, -1);
+        values.add(ValueGenerator.MAX);
+
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            removed.add(heap.removeMin());
+        }
+        assertEquals(sorted(values), removed);
+    }
+
     @Test
     public void isValid(){
         Assume.assumeTrue( false);
@@ -0,0 +1,79 @@
+package heap;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public abstract class AbstractPersistentHeapTest<H extends PersistentHeap<Integer, H>> {
+    private final Supplier<H> empty;
+    private List<Integer> values = new ArrayList<>(ValueGenerator.generateNumbers());
+
+    /**
+     * @param empty Geeft de lege hoop van het te testen type.
+     */
+    protected AbstractPersistentHeapTest(Supplier<H> empty){
+        this.empty = empty;
+    }
+
+    private H build(List<Integer> values){
+        H heap = empty.get();
+        for (Integer value : values) {
+            heap = heap.insert(value);
+        }
+        return heap;
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        H heap = build(values);
+        assertTrue(heap.isValid());
+        List<Integer> removed = new ArrayList<>();
+        while (!heap.isEmpty()){
+            removed.add(heap.findMin());
+            heap = heap.removeMin();
+        }
+        assertEquals(values.stream().sorted().collect(Collectors.toList()), removed);
+    }
+
+    @Test
+    public void versionTest() throws EmptyHeapException {
+        H heap = build(values);
+        H branch = heap.insert(-1).removeMin().removeMin();
+        H other = heap.insert(-2);
+        //De oude versie is niet veranderd
+        List<Integer> sorted = values.stream().sorted().collect(Collectors.toList());
+        assertEquals(sorted, toList(heap));
+        assertEquals(values.size(), heap.getSize());
+        assertEquals(sorted.subList(1, sorted.size()), toList(branch));
+        assertEquals(-2, (int) other.findMin());
+        assertTrue(heap.isValid() && branch.isValid() && other.isValid());
+    }
+
+    @Test
+    public void meldTest() throws EmptyHeapException {
+        H first = build(values.subList(0, values.size() / 2));
+        H second = build(values.subList(values.size() / 2, values.size()));
+        H melded = first.meld(second);
+        assertTrue(melded.isValid());
+        assertEquals(values.size(), melded.getSize());
+        assertEquals(values.stream().sorted().collect(Collectors.toList()), toList(melded));
+        assertEquals(values.size() / 2, first.getSize());
+        assertTrue(first.isValid() && second.isValid());
+    }
+
+    @Test(expected = EmptyHeapException.class)
+    public void emptyTest() throws EmptyHeapException {
+        empty.get().removeMin();
+    }
+
+    private static List<Integer> toList(Iterable<Integer> heap){
+        List<Integer> list = new ArrayList<>();
+        heap.forEach(list::add);
+        return list;
+    }
+}
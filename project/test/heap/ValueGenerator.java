@@ -9,7 +9,7 @@ import java.util.stream.Collectors;
 public class ValueGenerator {
     private static Collection<Integer> elements;
     private static int ELEMENTS = 1500;
-    private static int MAX = 1000000;
+    public static final int MAX = 1000000;
 
     public static Collection<Integer> generateNumbers() {
         if(elements==null){
@@ -0,0 +1,31 @@
+package heap.bheap;
+
+import heap.AbstractHeapTest;
+import heap.EmptyHeapException;
+import org.junit.Test;
+
+public class BHeapTest extends AbstractHeapTest<BHeap> {
+    public BHeapTest() {
+        super(BHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+}
@@ -2,8 +2,13 @@ package heap.binary;
 
 import heap.AbstractHeapTest;
 import heap.EmptyHeapException;
+import heap.ValueGenerator;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.*;
 
 public class BinaryHeapTest extends AbstractHeapTest<BinaryHeap> {
@@ -30,4 +35,25 @@ public class BinaryHeapTest extends AbstractHeapTest<BinaryHeap> {
     public void removeMinTest() throws EmptyHeapException {
         testMethod(super::removeMin);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void bottomUpRemoveMinTest() throws EmptyHeapException {
+        List<Integer> values = new ArrayList<>(ValueGenerator.generateNumbers());
+        BinaryHeap<Integer> heap = new BinaryHeap<>(true);
+        values.forEach(heap::insert);
+
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            removed.add(heap.removeMin());
+            if(i % 1000 == 0){
+                assertTrue("Heap was not valid after removing " + removed.get(i), heap.isValid());
+            }
+        }
+        assertEquals(values.stream().sorted().collect(Collectors.toList()), removed);
+    }
+
+    @Test
+    public void parallelInsertAllTest() throws EmptyHeapException {
+        parallelInsertAll((heap, values, pool) -> ((BinaryHeap<Integer>) heap).insertAll(values, pool));
+    }
+}
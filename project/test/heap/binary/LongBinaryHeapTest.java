@@ -0,0 +1,44 @@
+package heap.binary;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LongBinaryHeapTest {
+    @Test
+    public void pollTest(){
+        Random random = new Random(46);
+        long[] keys = random.longs(1000).toArray();
+        LongBinaryHeap heap = new LongBinaryHeap(keys.length);
+        for (long key : keys) {
+            heap.add(key);
+        }
+        assertTrue(heap.isFull() && heap.isValid());
+        Arrays.sort(keys);
+        for (long key : keys) {
+            assertEquals(key, heap.peek());
+            assertEquals(key, heap.poll());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void drainSortedTest(){
+        LongBinaryHeap heap = new LongBinaryHeap(4);
+        heap.add(3);
+        heap.add(Long.MIN_VALUE);
+        heap.add(Long.MAX_VALUE);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 3, Long.MAX_VALUE}, heap.drainSorted());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void fullTest(){
+        LongBinaryHeap heap = new LongBinaryHeap(1);
+        heap.add(1);
+        heap.add(2);
+    }
+}
@@ -0,0 +1,84 @@
+package heap.binary;
+
+import heap.AbstractHeapTest;
+import heap.ComparableElement;
+import heap.EmptyHeapException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SegmentedBinaryHeapTest extends AbstractHeapTest<SegmentedBinaryHeap> {
+    public SegmentedBinaryHeapTest() {
+        super(SegmentedBinaryHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void shrinkTest() throws EmptyHeapException {
+        SegmentedBinaryHeap<Integer> heap = new SegmentedBinaryHeap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(1000 - i);
+        }
+        assertEquals(1000 / 16 + 1, heap.getChunks());
+        for (int i = 0; i < 990; i++) {
+            assertEquals(i + 1, (int) heap.removeMin());
+        }
+        assertTrue(heap.isValid());
+        assertTrue("Empty chunks were not released", heap.getChunks() <= 2);
+    }
+
+    @Test
+    public void removeTwiceTest() throws EmptyHeapException {
+        SegmentedBinaryHeap<Integer> heap = new SegmentedBinaryHeap<>(4);
+        List<ComparableElement<Integer>> refs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            refs.add(heap.insert(i));
+        }
+        refs.get(50).remove();
+        try {
+            refs.get(50).remove();
+            fail("Removed element was removed again");
+        } catch (IllegalStateException e){
+            //De hoop is niet aangepast
+            assertEquals(99, heap.getSize());
+            assertTrue(heap.isValid());
+        }
+        //Ook het minimum en het laatste blad zijn na het verwijderen ongeldig
+        ComparableElement<Integer> min = heap.findMin();
+        heap.removeMin();
+        refs.get(99).remove();
+        for (ComparableElement<Integer> removed : Arrays.asList(min, refs.get(99))) {
+            try {
+                removed.update(-1);
+                fail("Removed element was updated");
+            } catch (IllegalStateException e){
+                assertTrue(heap.isValid());
+            }
+        }
+        assertEquals(97, heap.getSize());
+        assertEquals(1, (int) heap.removeMin());
+    }
+}
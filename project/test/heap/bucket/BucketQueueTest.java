@@ -0,0 +1,42 @@
+package heap.bucket;
+
+import heap.AbstractHeapTest;
+import heap.EmptyHeapException;
+import heap.helpers.BenchmarkBuilder;
+import org.junit.Test;
+
+public class BucketQueueTest extends AbstractHeapTest<BucketQueue> {
+    public BucketQueueTest() {
+        super(BucketQueue.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void benchmarkTest(){
+        //Willekeurige volgorde verdubbelt dezelfde elementen meerdere keren, de waarden moeten binnen het bereik blijven
+        new BenchmarkBuilder().bucket().random().amount(10000).testUpdateIncrease().testInRandomOrder().build().run();
+        new BenchmarkBuilder().bucket().random().amount(10000).testRandomOperation().testInRandomOrder().build().run();
+        new BenchmarkBuilder().bucket().increasing().amount(10000).testUpdateDecrease().testInOrder().build().run();
+        new BenchmarkBuilder().bucket().decreasing().amount(10000).testUpdateRemove().testInOrder().build().run();
+        new BenchmarkBuilder().bucket().random().amount(10000).testRemoveMin().testInOrder().build().run();
+    }
+}
@@ -0,0 +1,60 @@
+package heap.buffered;
+
+import heap.AbstractHeapTest;
+import heap.ComparableElement;
+import heap.EmptyHeapException;
+import heap.Heaps;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BufferedHeapTest extends AbstractHeapTest<BufferedHeap> {
+    public BufferedHeapTest() {
+        super(BufferedHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void flushTest() throws EmptyHeapException {
+        BufferedHeap<Integer> heap = new BufferedHeap<>(Heaps::newBinomialHeap, 8);
+        List<ComparableElement<Integer>> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(heap.insert(100 - i));
+        }
+        //De referenties blijven geldig nadat de buffer leeggemaakt is
+        elements.get(0).update(0);
+        elements.get(1).remove();
+        heap.flush();
+        elements.get(2).update(200);
+        assertTrue(heap.isValid());
+        assertEquals(99, heap.getSize());
+        assertEquals(0, (int) heap.removeMin());
+        for (int i = 1; i <= 97; i++) {
+            assertEquals(i, (int) heap.removeMin());
+        }
+        assertEquals(200, (int) heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+}
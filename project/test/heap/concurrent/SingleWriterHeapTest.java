@@ -0,0 +1,81 @@
+package heap.concurrent;
+
+import heap.AbstractHeapTest;
+import heap.EmptyHeapException;
+import heap.Heaps;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class SingleWriterHeapTest extends AbstractHeapTest<SingleWriterHeap> {
+    public SingleWriterHeapTest() {
+        super(SingleWriterHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void readerTest() throws InterruptedException {
+        SingleWriterHeap<Integer> heap = Heaps.newSingleWriterHeap(Heaps::newPairingHeap);
+        int n = 20000;
+        AtomicReference<String> error = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            Thread reader = new Thread(() -> {
+                long epoch = 0;
+                //De schrijver voegt dalende waarden toe, elke gepubliceerde toestand is dus (n - size)
+                while (epoch < n){
+                    SingleWriterHeap.State<Integer> state = heap.getState();
+                    if(state.getEpoch() < epoch || state.getSize() != state.getEpoch()
+                            || (state.getSize() > 0 && state.getMin() != n - state.getSize())){
+                        error.set("Inconsistent state at epoch " + state.getEpoch());
+                        return;
+                    }
+                    SingleWriterHeap.Snapshot<Integer> snapshot = heap.snapshot();
+                    if(snapshot.getEpoch() < epoch || snapshot.getValues().size() != snapshot.getEpoch()){
+                        error.set("Inconsistent snapshot at epoch " + snapshot.getEpoch());
+                        return;
+                    }
+                    epoch = state.getEpoch();
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            heap.insert(i);
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(error.get());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, heap.snapshot().getValues());
+        assertEquals(n, heap.snapshot().getEpoch());
+    }
+}
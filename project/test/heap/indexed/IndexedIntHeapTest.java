@@ -0,0 +1,66 @@
+package heap.indexed;
+
+import heap.EmptyHeapException;
+import heap.ValueGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class IndexedIntHeapTest {
+    private List<Integer> elements = new ArrayList<>(ValueGenerator.generateNumbers());
+
+    private IndexedIntHeap newHeap(){
+        IndexedIntHeap heap = new IndexedIntHeap(4);
+        for (int id = 0; id < elements.size(); id++) {
+            heap.insert(id, elements.get(id));
+            assertTrue("Heap was not valid after inserting id " + id, heap.isValid());
+        }
+        assertEquals(elements.size(), heap.getSize());
+        return heap;
+    }
+
+    @Test
+    public void pollTest() throws EmptyHeapException {
+        IndexedIntHeap heap = newHeap();
+        List<Integer> polled = new ArrayList<>();
+        while (!heap.isEmpty()){
+            int id = heap.pollId();
+            assertFalse(heap.contains(id));
+            polled.add(elements.get(id));
+        }
+        assertEquals(elements.stream().sorted().collect(Collectors.toList()), polled);
+    }
+
+    @Test
+    public void updateTest(){
+        IndexedIntHeap heap = newHeap();
+        for (int id = 0; id < elements.size(); id++) {
+            if(id % 2 == 0){
+                heap.decreaseKey(id, heap.key(id) / 2);
+            } else {
+                heap.update(id, heap.key(id) * 2);
+            }
+            assertTrue("Heap was not valid after updating id " + id, heap.isValid());
+        }
+    }
+
+    @Test
+    public void removeTest(){
+        IndexedIntHeap heap = newHeap();
+        for (int id = elements.size() - 1; id >= 0; id -= 3) {
+            heap.remove(id);
+            assertFalse(heap.contains(id));
+            assertTrue("Heap was not valid after removing id " + id, heap.isValid());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void increaseWithDecreaseKeyTest(){
+        IndexedIntHeap heap = newHeap();
+        heap.decreaseKey(0, heap.key(0) + 1);
+    }
+}
@@ -0,0 +1,107 @@
+package heap.jfr;
+
+import heap.EmptyHeapException;
+import heap.ExtendedHeap;
+import heap.Heaps;
+import heap.ValueGenerator;
+import heap.binary.BinaryHeap;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class HeapOperationEventTest {
+    private List<RecordedEvent> record(ExtendedHeap<Integer> heap) throws IOException, EmptyHeapException {
+        Path file = Files.createTempFile("heap", ".jfr");
+        try (Recording recording = new Recording()) {
+            //Zonder drempel wordt elke bewerking weggeschreven
+            recording.enable(HeapOperationEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            ValueGenerator.generateNumbers().forEach(heap::insert);
+            for (int i = 0; i < 100; i++) {
+                heap.removeMin();
+            }
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("heap.Operation"))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void binaryTest() throws IOException, EmptyHeapException {
+        List<RecordedEvent> events = record(Heaps.newBinaryHeap());
+        assertEquals(ValueGenerator.generateNumbers().size() + 100, events.size());
+        List<RecordedEvent> removeMins = events.stream().filter(e -> e.getString("operation").equals("removeMin")).collect(Collectors.toList());
+        assertEquals(100, removeMins.size());
+        assertTrue(removeMins.stream().allMatch(e -> e.getString("heap").equals("Binary Heap") && e.getLong("work") <= 11));
+    }
+
+    @Test
+    public void bottomUpTest() throws IOException, EmptyHeapException {
+        List<RecordedEvent> events = record(new BinaryHeap<>(true));
+        //Het gat zakt altijd tot in een blad, op diepte 9 of 10 bij ongeveer 1400 elementen, en het laatste blad stijgt hoogstens even ver terug
+        assertTrue(events.stream().filter(e -> e.getString("operation").equals("removeMin")).allMatch(e -> e.getLong("work") >= 9 && e.getLong("work") <= 20));
+    }
+
+    @Test
+    public void pairingTest() throws IOException, EmptyHeapException {
+        List<RecordedEvent> events = record(Heaps.newPairingHeap());
+        //De eerste removeMin paart alle kinderen van de wortel. Het bestand is niet noodzakelijk chronologisch, de eerste is die met de grootste hoop.
+        RecordedEvent first = events.stream().max(Comparator.comparingInt(e -> e.getInt("size"))).get();
+        assertEquals("removeMin", first.getString("operation"));
+        assertEquals(ValueGenerator.generateNumbers().size() - 1, first.getInt("size"));
+        assertTrue(first.getLong("work") > 1);
+    }
+
+    @Test
+    public void binomialTest() throws IOException, EmptyHeapException {
+        List<RecordedEvent> events = record(Heaps.newBinomialHeap());
+        assertEquals(ValueGenerator.generateNumbers().size() + 100, events.size());
+        //Een removeMin bekijkt minstens één wortel, en bij ongeveer 1400 elementen zijn er hoogstens 11 wortels en 11 kinderen om te linken
+        assertTrue(events.stream().filter(e -> e.getString("operation").equals("removeMin"))
+                .allMatch(e -> e.getString("heap").equals("Binomial Heap") && e.getLong("work") >= 1 && e.getLong("work") <= 22));
+        //Een insert linkt gemiddeld één keer
+        assertTrue(events.stream().filter(e -> e.getString("operation").equals("insert")).anyMatch(e -> e.getLong("work") > 0));
+    }
+
+    @Test
+    public void arrayHeapsTest() throws IOException, EmptyHeapException {
+        List<ExtendedHeap<Integer>> heaps = Arrays.asList(Heaps.newWeakHeap(), Heaps.newMinMaxHeap(), Heaps.newSegmentedBinaryHeap());
+        for (ExtendedHeap<Integer> heap : heaps) {
+            List<RecordedEvent> events = record(heap);
+            assertEquals(heap.getName(), ValueGenerator.generateNumbers().size() + 100, events.size());
+            //Het werk van een removeMin is begrensd door de hoogte van de boom
+            assertTrue(heap.getName(), events.stream().filter(e -> e.getString("operation").equals("removeMin"))
+                    .allMatch(e -> e.getString("heap").equals(heap.getName()) && e.getLong("work") >= 1 && e.getLong("work") <= 11));
+        }
+    }
+
+    @Test
+    public void disabledTest() throws IOException, EmptyHeapException {
+        Path file = Files.createTempFile("heap", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            ValueGenerator.generateNumbers().forEach(Heaps.<Integer>newBinaryHeap()::insert);
+            recording.stop();
+            recording.dump(file);
+            assertTrue(RecordingFile.readAllEvents(file).stream().noneMatch(e -> e.getEventType().getName().equals("heap.Operation")));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package heap.jmx;
+
+import heap.AbstractHeapTest;
+import heap.EmptyHeapException;
+import heap.Heaps;
+import heap.ValueGenerator;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class MonitoredHeapTest extends AbstractHeapTest<MonitoredHeap> {
+    public MonitoredHeapTest() {
+        super(MonitoredHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void mbeanTest() throws JMException, EmptyHeapException {
+        MonitoredHeap<Integer> heap = new MonitoredHeap<>(Heaps.<Integer>newBinomialHeap(), 16);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = heap.register("test");
+        try {
+            ValueGenerator.generateNumbers().forEach(heap::insert);
+            for (int i = 0; i < 1024; i++) {
+                heap.removeMin();
+            }
+            heap.publish();
+            int size = ValueGenerator.generateNumbers().size() - 1024;
+            assertEquals(size, server.getAttribute(name, "Size"));
+            assertEquals((long) ValueGenerator.generateNumbers().size(), server.getAttribute(name, "Inserts"));
+            assertEquals(1024L, server.getAttribute(name, "RemoveMins"));
+            assertTrue((long) server.getAttribute(name, "SampledMaxRemoveMinNanos") > 0);
+            TabularData shape = (TabularData) server.getAttribute(name, "Shape");
+            long roots = (long) shape.get(new Object[]{"roots"}).get("value");
+            assertTrue(roots > 0 && roots < 32);
+
+            //De reset werkt meteen, ook zonder nieuwe publicatie
+            server.invoke(name, "reset", null, null);
+            assertEquals(0L, server.getAttribute(name, "Inserts"));
+            assertEquals(0L, server.getAttribute(name, "RemoveMins"));
+            assertEquals(0L, server.getAttribute(name, "SampledMaxRemoveMinNanos"));
+            heap.removeMin();
+            heap.publish();
+            assertEquals(0L, server.getAttribute(name, "Inserts"));
+            assertEquals(1L, server.getAttribute(name, "RemoveMins"));
+
+            //De grootte lezen we rechtstreeks
+            heap.insert(-1);
+            assertEquals(size, server.getAttribute(name, "Size"));
+        } finally {
+            heap.unregister();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void maxAgeTest() throws InterruptedException {
+        MonitoredHeap<Integer> heap = new MonitoredHeap<>(Heaps.<Integer>newPairingHeap(), 1024);
+        heap.insert(1);
+        assertEquals(0, heap.getStats().getInserts());
+        //Een trage hoop publiceert bij de eerste steekproef nadat de laatste publicatie te oud is
+        Thread.sleep(MonitoredHeap.MAX_AGE_NANOS / 1_000_000 + 10);
+        for (int i = 1; i < 1024 / 16; i++) {
+            heap.insert(i);
+        }
+        assertEquals(1024 / 16, heap.getStats().getInserts());
+    }
+}
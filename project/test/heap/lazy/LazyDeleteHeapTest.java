@@ -0,0 +1,64 @@
+package heap.lazy;
+
+import heap.AbstractHeapTest;
+import heap.ComparableElement;
+import heap.EmptyHeapException;
+import heap.Heaps;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LazyDeleteHeapTest extends AbstractHeapTest<LazyDeleteHeap> {
+    public LazyDeleteHeapTest() {
+        super(LazyDeleteHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void purgeTest() throws EmptyHeapException {
+        LazyDeleteHeap<Integer> heap = Heaps.newLazyHeap(Heaps::newBinaryHeap);
+        List<ComparableElement<Integer>> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(heap.insert(i));
+        }
+        for (int i = 0; i < 400; i++) {
+            elements.get(i).remove();
+        }
+        assertEquals(400, heap.getDead());
+        assertEquals(600, heap.getSize());
+        assertEquals(400, (int) heap.findMin().value());
+        assertEquals(0, heap.getDead());
+
+        for (int i = 500; i < 1000; i++) {
+            elements.get(i).remove();
+        }
+        assertTrue("Heap should have been rebuilt", heap.getDead() < 500);
+        assertTrue(heap.isValid());
+        for (int i = 400; i < 500; i++) {
+            assertEquals(i, (int) heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -1,8 +1,14 @@
 package heap.leftist;
 
 import heap.AbstractHeapTest;
+import heap.EmptyHeapException;
+import heap.ValueGenerator;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.*;
 
 public class LeftistHeapTest extends AbstractHeapTest<LeftistHeap> {
@@ -30,4 +36,23 @@ public class LeftistHeapTest extends AbstractHeapTest<LeftistHeap> {
     public void removeTest(){
         testMethod(super::remove);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void meldTest() throws EmptyHeapException {
+        List<Integer> values = new ArrayList<>(ValueGenerator.generateNumbers());
+        LeftistHeap<Integer> first = new LeftistHeap<>();
+        LeftistHeap<Integer> second = new LeftistHeap<>();
+        for (int i = 0; i < values.size(); i++) {
+            (i % 2 == 0 ? first : second).insert(values.get(i));
+        }
+        first.meld(second);
+        assertTrue(second.isEmpty());
+        assertTrue(first.isValid());
+
+        List<Integer> removed = new ArrayList<>();
+        while (!first.isEmpty()){
+            removed.add(first.removeMin());
+        }
+        assertEquals(values.stream().sorted().collect(Collectors.toList()), removed);
+    }
+}
@@ -0,0 +1,9 @@
+package heap.leftist;
+
+import heap.AbstractPersistentHeapTest;
+
+public class PersistentLeftistHeapTest extends AbstractPersistentHeapTest<PersistentLeftistHeap<Integer>> {
+    public PersistentLeftistHeapTest() {
+        super(PersistentLeftistHeap::empty);
+    }
+}
@@ -0,0 +1,73 @@
+package heap.minmax;
+
+import heap.AbstractHeapTest;
+import heap.ComparableElement;
+import heap.EmptyHeapException;
+import heap.ExtendedHeap;
+import heap.Heaps;
+import heap.ValueGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.BiPredicate;
+
+import static org.junit.Assert.*;
+
+public class MinMaxHeapTest extends AbstractHeapTest<MinMaxHeap> {
+    public MinMaxHeapTest() {
+        super(MinMaxHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void removeMaxTest() {
+        testMethod(this::removeMax);
+    }
+
+    @Test
+    public void insertAllTest() throws EmptyHeapException {
+        MinMaxHeap<Integer> heap = Heaps.newMinMaxHeap();
+        heap.insert(ValueGenerator.MAX);
+        Collection<Integer> elements = ValueGenerator.generateNumbers();
+        heap.insertAll(elements);
+        assertTrue("Heap was not valid after bulk insert", heap.isValid());
+        assertEquals(elements.size() + 1, heap.getSize());
+        assertEquals(ValueGenerator.MAX, (int) heap.findMax().value());
+    }
+
+    private void removeMax(ExtendedHeap<Integer> _heap, Collection<ComparableElement<Integer>> comps, BiPredicate<ExtendedHeap<Integer>, ComparableElement<Integer>>[] assertions) {
+        MinMaxHeap<Integer> heap = (MinMaxHeap<Integer>) _heap;
+        ArrayList<Integer> removed = new ArrayList<>();
+        try {
+            for (int i = 0; i < comps.size(); i++) {
+                removed.add(heap.removeMax());
+                assertTrue("Heap was not valid after removing the maximum", heap.isValid());
+            }
+        } catch (EmptyHeapException e){
+            throw new AssertionError("Heap threw EmptyheapException while this was not expected.");
+        }
+        for (int i = 0; i < removed.size() - 1; i++) {
+            assertTrue(removed.get(i) + " is not larger than " + removed.get(i + 1), removed.get(i) >= removed.get(i + 1));
+        }
+    }
+}
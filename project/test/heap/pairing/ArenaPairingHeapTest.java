@@ -0,0 +1,117 @@
+package heap.pairing;
+
+import heap.Element;
+import heap.EmptyHeapException;
+import heap.Heap;
+import heap.ValueGenerator;
+import heap.helpers.BenchmarkBuilder;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ArenaPairingHeapTest {
+    private List<Integer> elements = new ArrayList<>(ValueGenerator.generateNumbers());
+
+    private ArenaPairingHeap heap = new ArenaPairingHeap(4);
+    private int[] nodes = new int[elements.size()];
+
+    private void fill(){
+        for (int i = 0; i < elements.size(); i++) {
+            nodes[i] = heap.insert(elements.get(i));
+        }
+        assertTrue("Heap was not valid after inserting", heap.isValid());
+        assertEquals(elements.size(), heap.getSize());
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        fill();
+        List<Long> removed = new ArrayList<>();
+        while (!heap.isEmpty()){
+            removed.add(heap.removeMin());
+        }
+        assertEquals(elements.stream().sorted().map(Integer::longValue).collect(Collectors.toList()), removed);
+    }
+
+    @Test
+    public void updateTest() throws EmptyHeapException {
+        fill();
+        for (int i = 0; i < nodes.length; i++) {
+            if(i % 2 == 0){
+                heap.decreaseKey(nodes[i], heap.key(nodes[i]) / 2);
+            } else {
+                heap.update(nodes[i], heap.key(nodes[i]) * 2);
+            }
+            if(i % 1000 == 0){
+                assertTrue("Heap was not valid after updating node " + i, heap.isValid());
+                heap.removeMin();
+                heap.insert(i);
+            }
+        }
+        assertTrue(heap.isValid());
+    }
+
+    @Test
+    public void removeTest(){
+        fill();
+        for (int i = nodes.length - 1; i >= 0; i -= 3) {
+            heap.remove(nodes[i]);
+            assertFalse(heap.contains(nodes[i]));
+            if(i % 1000 == 0){
+                assertTrue("Heap was not valid after removing node " + i, heap.isValid());
+            }
+        }
+        assertTrue(heap.isValid());
+    }
+
+    @Test
+    public void reuseTest() throws EmptyHeapException {
+        fill();
+        int first = heap.findMin();
+        heap.removeMin();
+        assertFalse(heap.contains(first));
+        assertEquals(first, heap.insert(-1));
+        assertEquals(-1, heap.key(heap.findMin()));
+    }
+
+    @Test
+    public void viewTest() throws EmptyHeapException {
+        Heap<Integer> view = heap.asHeap();
+        List<Element<Integer>> refs = new ArrayList<>();
+        for (Integer value : elements) {
+            refs.add(view.insert(value));
+        }
+        refs.get(0).update(Integer.MIN_VALUE);
+        assertSame(refs.get(0), view.findMin());
+        assertEquals(Integer.MIN_VALUE, (int) view.removeMin());
+        refs.get(1).remove();
+        assertTrue(heap.isValid());
+        assertEquals(elements.size() - 2, heap.getSize());
+        //Een oude referentie blijft ongeldig, ook als zijn top hergebruikt wordt
+        Element<Integer> reused = view.insert(0);
+        try {
+            refs.get(1).remove();
+            fail("Removed element was removed again");
+        } catch (IllegalStateException e){
+            assertEquals(0, (int) reused.value());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void viewRemoveTwiceTest(){
+        Element<Integer> e = heap.asHeap().insert(1);
+        e.remove();
+        e.remove();
+    }
+
+    @Test
+    public void benchmarkTest(){
+        new BenchmarkBuilder().arenaPairing().random().amount(10000).testRandomOperation().testInRandomOrder().build().run();
+        new BenchmarkBuilder().arenaPairing().random().amount(10000).testUpdateRemove().testInOrder().build().run();
+        new BenchmarkBuilder().arenaPairing().random().amount(10000).testRemoveMin().testInOrder().build().run();
+    }
+}
@@ -28,4 +28,9 @@ public class PairingHeapTest extends AbstractHeapTest<PairingHeap> {
     public void removeMinTest() throws EmptyHeapException {
         testMethod(super::removeMin);
     }
+
+    @Test
+    public void parallelInsertAllTest() throws EmptyHeapException {
+        parallelInsertAll((heap, values, pool) -> ((PairingHeap<Integer>) heap).insertAll(values, pool));
+    }
 }
@@ -0,0 +1,102 @@
+package heap.radix;
+
+import heap.AbstractHeapTest;
+import heap.ComparableElement;
+import heap.EmptyHeapException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RadixHeapTest extends AbstractHeapTest<RadixHeap> {
+    public RadixHeapTest() {
+        super(RadixHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void insertBelowMinimumTest() throws EmptyHeapException {
+        RadixHeap<Integer> heap = new RadixHeap<>();
+        heap.insert(5);
+        heap.insert(10);
+        assertEquals(5, (int) heap.removeMin());
+        //Gelijk aan het laatste minimum mag nog
+        heap.insert(5);
+        try {
+            heap.insert(4);
+            fail("Insert below the last minimum was accepted");
+        } catch (IllegalArgumentException e){
+            //De hoop is niet aangepast
+            assertEquals(2, heap.getSize());
+            assertTrue(heap.isValid());
+        }
+    }
+
+    @Test
+    public void updateBelowMinimumTest() throws EmptyHeapException {
+        RadixHeap<Integer> heap = new RadixHeap<>();
+        heap.insert(5);
+        ComparableElement<Integer> element = heap.insert(10);
+        assertEquals(5, (int) heap.removeMin());
+        element.update(5);
+        try {
+            element.update(4);
+            fail("Update below the last minimum was accepted");
+        } catch (IllegalArgumentException e){
+            assertEquals(5, (int) element.value());
+            assertEquals(1, heap.getSize());
+            assertTrue(heap.isValid());
+        }
+        assertEquals(5, (int) heap.removeMin());
+    }
+
+    @Test
+    public void emptyBucketZeroTest() throws EmptyHeapException {
+        RadixHeap<Integer> heap = new RadixHeap<>();
+        for (int value : new int[]{20, 8, 12, 9}) {
+            heap.insert(value);
+        }
+        //8 wordt het laatste minimum, 9, 12 en 20 komen in emmer 1, 3 en 5
+        assertEquals(8, (int) heap.removeMin());
+        assertTrue(heap.isValid());
+        //Een sleutel gelijk aan het laatste minimum komt in emmer 0
+        heap.insert(8);
+        assertEquals(8, (int) heap.removeMin());
+        assertTrue(heap.isValid());
+        //Emmer 0 is leeg: het minimum komt uit emmer 1 en wordt het nieuwe laatste minimum, de rest van emmer 1 wordt herverdeeld
+        assertEquals(9, (int) heap.findMin().value());
+        assertEquals(9, (int) heap.removeMin());
+        assertTrue(heap.isValid());
+        try {
+            heap.insert(8);
+            fail("Insert below the new last minimum was accepted");
+        } catch (IllegalArgumentException e){
+            assertTrue(heap.isValid());
+        }
+        //12 en 20 staan nu ten opzichte van 9 in de juiste emmer, een gelijke sleutel komt opnieuw in emmer 0
+        heap.insert(9);
+        assertTrue(heap.isValid());
+        assertEquals(9, (int) heap.removeMin());
+        assertEquals(12, (int) heap.removeMin());
+        assertEquals(20, (int) heap.removeMin());
+        assertTrue(heap.isEmpty() && heap.isValid());
+    }
+}
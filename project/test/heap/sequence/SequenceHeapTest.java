@@ -0,0 +1,120 @@
+package heap.sequence;
+
+import heap.Element;
+import heap.EmptyHeapException;
+import heap.ValueGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class SequenceHeapTest {
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        //Kleine buffers en groepen zodat er meerdere groepen ontstaan
+        SequenceHeap heap = new SequenceHeap(4, 2);
+        List<Integer> values = new ArrayList<>(ValueGenerator.generateNumbers());
+        values.forEach(v -> heap.insert((long) v));
+        assertEquals(values.size(), heap.size());
+        assertTrue(heap.getGroups() > 1);
+        List<Integer> expected = values.stream().sorted().collect(Collectors.toList());
+        for (Integer value : expected) {
+            assertEquals((long) value, (long) heap.findMin().value());
+            assertEquals((long) value, (long) heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void mixedTest() throws EmptyHeapException {
+        SequenceHeap heap = new SequenceHeap(8, 3);
+        PriorityQueue<Long> reference = new PriorityQueue<>();
+        Random random = new Random(44);
+        for (int i = 0; i < 100000; i++) {
+            if(reference.isEmpty() || random.nextInt(3) > 0){
+                long key = random.nextInt(1000) - 500;
+                heap.add(key);
+                reference.add(key);
+            } else {
+                assertEquals((long) reference.poll(), heap.pollLong());
+            }
+            assertEquals(reference.size(), heap.size());
+        }
+        while (!reference.isEmpty()){
+            assertEquals((long) reference.poll(), heap.pollLong());
+        }
+    }
+
+    @Test(expected = EmptyHeapException.class)
+    public void emptyTest() throws EmptyHeapException {
+        new SequenceHeap().removeMin();
+    }
+
+    @Test
+    public void handleTest() throws EmptyHeapException {
+        SequenceHeap heap = new SequenceHeap(8, 3);
+        PriorityQueue<Long> reference = new PriorityQueue<>();
+        List<Element<Long>> handles = new ArrayList<>();
+        Random random = new Random(45);
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(200);
+            handles.add(heap.insert(key));
+            reference.add(key);
+        }
+        for (int i = 0; i < 20000; i++) {
+            Element<Long> handle = handles.get(random.nextInt(handles.size()));
+            try {
+                int op = random.nextInt(3);
+                if(op == 0){
+                    long key = handle.value();
+                    handle.remove();
+                    assertTrue(reference.remove(key));
+                } else if(op == 1){
+                    long key = handle.value();
+                    long value = random.nextInt(200);
+                    handle.update(value);
+                    assertTrue(reference.remove(key));
+                    reference.add(value);
+                } else if(!reference.isEmpty()){
+                    assertEquals((long) reference.poll(), heap.pollLong());
+                }
+            } catch (IllegalStateException e) {
+                //De referentie was al verwijderd, via remove of doordat removeMin een gelijke sleutel teruggaf
+            }
+            assertEquals(reference.size(), heap.size());
+            if(!reference.isEmpty()){
+                assertEquals((long) reference.peek(), (long) heap.findMin().value());
+            }
+        }
+        while (!reference.isEmpty()){
+            assertEquals((long) reference.poll(), (long) heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void findMinHandleTest() throws EmptyHeapException {
+        SequenceHeap heap = new SequenceHeap();
+        heap.add(3);
+        heap.add(5);
+        Element<Long> min = heap.findMin();
+        assertSame(min, heap.findMin());
+        min.update(7L);
+        assertEquals(5L, (long) heap.removeMin());
+        assertEquals(7L, (long) min.value());
+        assertEquals(7L, (long) heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void removeTwiceTest(){
+        Element<Long> handle = new SequenceHeap().insert(1L);
+        handle.remove();
+        handle.remove();
+    }
+}
@@ -0,0 +1,9 @@
+package heap.skew;
+
+import heap.AbstractPersistentHeapTest;
+
+public class PersistentSkewHeapTest extends AbstractPersistentHeapTest<PersistentSkewHeap<Integer>> {
+    public PersistentSkewHeapTest() {
+        super(PersistentSkewHeap::empty);
+    }
+}
@@ -28,4 +28,9 @@ public class SkewHeapTest extends AbstractHeapTest<SkewHeap> {
     public void removeMinTest() throws EmptyHeapException {
         testMethod(super::removeMin);
     }
+
+    @Test
+    public void parallelInsertAllTest() throws EmptyHeapException {
+        parallelInsertAll((heap, values, pool) -> ((SkewHeap<Integer>) heap).insertAll(values, pool));
+    }
 }
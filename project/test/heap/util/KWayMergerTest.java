@@ -0,0 +1,54 @@
+package heap.util;
+
+import heap.ValueGenerator;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class KWayMergerTest {
+    private static final int SOURCES = 7;
+
+    private List<List<Integer>> sortedSources(){
+        List<List<Integer>> sources = new ArrayList<>();
+        for (int i = 0; i < SOURCES; i++) {
+            sources.add(new ArrayList<>());
+        }
+        int i = 0;
+        for (Integer value : ValueGenerator.generateNumbers()) {
+            sources.get(i++ % SOURCES).add(value);
+        }
+        sources.add(new ArrayList<>());
+        sources.forEach(s -> s.sort(null));
+        return sources;
+    }
+
+    private List<Integer> expected(){
+        return ValueGenerator.generateNumbers().stream().sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void mergeTest(){
+        List<Iterator<Integer>> iterators = sortedSources().stream().map(List::iterator).collect(Collectors.toList());
+        assertEquals(expected(), new KWayMerger<>(iterators).stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void mergeLongsTest(){
+        List<PrimitiveIterator.OfLong> iterators = new ArrayList<>();
+        for (List<Integer> source : sortedSources()) {
+            ByteBuffer buffer = ByteBuffer.allocate(source.size() * Long.BYTES);
+            source.forEach(buffer::putLong);
+            buffer.flip();
+            iterators.add(KWayMerger.longs(buffer));
+        }
+        List<Integer> merged = KWayMerger.streamLongs(iterators).mapToObj(l -> (int) l).collect(Collectors.toList());
+        assertEquals(expected(), merged);
+    }
+}
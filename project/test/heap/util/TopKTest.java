@@ -0,0 +1,42 @@
+package heap.util;
+
+import heap.ValueGenerator;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class TopKTest {
+    private Collection<Integer> elements = ValueGenerator.generateNumbers();
+
+    private List<Integer> expected(int k){
+        return elements.stream().sorted(Comparator.reverseOrder()).limit(k).collect(Collectors.toList());
+    }
+
+    @Test
+    public void sequentialTest(){
+        assertEquals(expected(100), elements.stream().collect(TopK.collector(100)));
+    }
+
+    @Test
+    public void parallelTest(){
+        assertEquals(expected(100), elements.parallelStream().collect(TopK.collector(100)));
+    }
+
+    @Test
+    public void boundedTest(){
+        TopK<Integer> topK = new TopK<>(10);
+        elements.forEach(topK::offer);
+        assertEquals(10, topK.size());
+        assertEquals(expected(10), topK.drain());
+    }
+
+    @Test
+    public void fewerThanKTest(){
+        assertEquals(expected(elements.size()), elements.stream().collect(TopK.collector(elements.size() * 2)));
+    }
+}
@@ -0,0 +1,45 @@
+package heap.weak;
+
+import heap.AbstractHeapTest;
+import heap.EmptyHeapException;
+import heap.Heaps;
+import heap.helpers.BenchmarkBuilder;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeakHeapTest extends AbstractHeapTest<WeakHeap> {
+    public WeakHeapTest() {
+        super(WeakHeap.class);
+    }
+
+    @Test
+    public void insertTest() {
+        testMethod(super::insert);
+    }
+
+    @Test
+    public void updateTest(){
+        testMethod(super::update);
+    }
+
+    @Test
+    public void removeTest(){
+        testMethod(super::remove);
+    }
+
+    @Test
+    public void removeMinTest() throws EmptyHeapException {
+        testMethod(super::removeMin);
+    }
+
+    @Test
+    public void comparisonTest() {
+        BenchmarkBuilder builder = new BenchmarkBuilder().amount(10000).random();
+        long[] binary = builder.buildComparison(Heaps::newBinaryHeap).run();
+        long[] weak = builder.buildComparison(Heaps::newWeakHeap).run();
+        //Ongeveer n log n tegenover 2 n log n vergelijkingen voor n keer removeMin
+        assertTrue("Weak heap used " + weak[1] + " comparisons, binary heap " + binary[1], weak[1] < binary[1]);
+        assertTrue(weak[1] < 10000L * 15);
+    }
+}